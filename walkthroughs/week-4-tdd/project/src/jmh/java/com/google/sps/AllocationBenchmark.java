@@ -0,0 +1,81 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the allocating and allocation-free {@code EventIndex} queries. Run it with the GC
+ * profiler to see the bytes allocated per query ({@code gc.alloc.rate.norm}):
+ * {@code mvn -P jmh test-compile exec:exec -Djmh.args="AllocationBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AllocationBenchmark {
+  @Param({"1000", "100000"})
+  public int eventCount;
+
+  @Param({"2", "10", "50"})
+  public int groupSize;
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+  private final TimeRangeColumns out = new TimeRangeColumns();
+  private EventIndex index;
+  private List<MeetingRequest> requests;
+  private List<List<String>> groups;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    BenchmarkCalendars calendars = new BenchmarkCalendars(eventCount, 2, 0.25, groupSize, 42);
+    index = new EventIndex(calendars.getEvents());
+    requests = calendars.getRequests();
+    groups = new ArrayList<>();
+    for (MeetingRequest request : requests) {
+      groups.add(new ArrayList<>(request.getAttendees()));
+    }
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryIndex() {
+    next = (next + 1) % requests.size();
+    return query.query(index, requests.get(next));
+  }
+
+  @Benchmark
+  public TimeRangeColumns queryIntoColumns() {
+    next = (next + 1) % groups.size();
+    query.query(index, groups.get(next), 30, out);
+    return out;
+  }
+}
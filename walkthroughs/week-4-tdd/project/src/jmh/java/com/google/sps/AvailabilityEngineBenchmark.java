@@ -0,0 +1,91 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@code AvailabilityEngine} implementations on the same index, so that only the
+ * union and gap search are measured. Each engine may reuse what it has prepared in the index, e.g.
+ * the bitset engine's per-attendee masks, as it would in the servlets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AvailabilityEngineBenchmark {
+  @Param({"sweep", "bitset", "columnar", "kway"})
+  public String engine;
+
+  @Param({"1000", "100000"})
+  public int eventCount;
+
+  @Param({"1", "4"})
+  public int attendeesPerEvent;
+
+  @Param({"0.25", "1.5"})
+  public double overlapDensity;
+
+  @Param({"2", "10", "50"})
+  public int groupSize;
+
+  private AvailabilityEngine availabilityEngine;
+  private EventIndex index;
+  private List<MeetingRequest> requests;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    switch (engine) {
+      case "bitset":
+        availabilityEngine = new BitsetEngine();
+        break;
+      case "columnar":
+        availabilityEngine = new ColumnarEngine();
+        break;
+      case "kway":
+        availabilityEngine = new KWayMergeEngine();
+        break;
+      default:
+        availabilityEngine = new SweepLineEngine();
+    }
+
+    BenchmarkCalendars calendars =
+        new BenchmarkCalendars(eventCount, attendeesPerEvent, overlapDensity, groupSize, 42);
+    index = new EventIndex(calendars.getEvents());
+    requests = new ArrayList<>(calendars.getRequests());
+  }
+
+  @Benchmark
+  public List<TimeRange> findVacantSlots() {
+    next = (next + 1) % requests.size();
+    return availabilityEngine.findVacantSlots(index, requests.get(next).getAttendees(), 30);
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the seeded calendars and requests the benchmarks run against.
+ *
+ * <p>Each person gets about {@link #EVENTS_PER_PERSON} events, so the population grows with the
+ * event count. {@code overlapDensity} is the fraction of a person's day their events would cover
+ * if none of them overlapped; values near or above 1 produce heavily overlapping calendars.
+ */
+final class BenchmarkCalendars {
+  static final int EVENTS_PER_PERSON = 8;
+  static final int REQUEST_COUNT = 64;
+
+  private final List<String> people;
+  private final List<Event> events;
+  private final List<MeetingRequest> requests;
+
+  BenchmarkCalendars(
+      int eventCount, int attendeesPerEvent, double overlapDensity, int groupSize, long seed) {
+    Random random = new Random(seed);
+    int population = Math.max(
+        Math.max(groupSize, attendeesPerEvent), eventCount * attendeesPerEvent / EVENTS_PER_PERSON);
+    int meanDuration =
+        Math.max(1, (int) (overlapDensity * TimeRange.WHOLE_DAY.duration() / EVENTS_PER_PERSON));
+
+    people = new ArrayList<>(population);
+    for (int i = 0; i < population; i++) {
+      people.add("Person " + i);
+    }
+
+    events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; i++) {
+      int duration = 1 + random.nextInt(2 * meanDuration);
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration());
+      TimeRange when =
+          TimeRange.fromStartEnd(start, Math.min(start + duration, SweepLineMerger.DAY_END), false);
+      events.add(new Event("Event " + i, when, pick(random, attendeesPerEvent)));
+    }
+
+    requests = new ArrayList<>(REQUEST_COUNT);
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      requests.add(new MeetingRequest(pick(random, groupSize), 30));
+    }
+  }
+
+  List<Event> getEvents() {
+    return events;
+  }
+
+  /**
+   * Returns {@link #REQUEST_COUNT} requests for random groups, so that benchmarks can cycle
+   * through them instead of repeating one constant query.
+   */
+  List<MeetingRequest> getRequests() {
+    return requests;
+  }
+
+  private List<String> pick(Random random, int count) {
+    List<String> picked = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      picked.add(people.get(random.nextInt(people.size())));
+    }
+    return picked;
+  }
+}
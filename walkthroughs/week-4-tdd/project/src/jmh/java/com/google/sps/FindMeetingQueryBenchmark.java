@@ -0,0 +1,91 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single {@code FindMeetingQuery} request straight from the event list, from the same
+ * events in an {@code EventStore} snapshot, and from a prebuilt {@code EventIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FindMeetingQueryBenchmark {
+  @Param({"10", "1000", "100000", "1000000"})
+  public int eventCount;
+
+  @Param({"1", "4"})
+  public int attendeesPerEvent;
+
+  @Param({"0.25", "1.5"})
+  public double overlapDensity;
+
+  @Param({"2", "10"})
+  public int groupSize;
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+  private List<Event> events;
+  private EventStore.Snapshot snapshot;
+  private EventIndex index;
+  private List<MeetingRequest> requests;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    BenchmarkCalendars calendars =
+        new BenchmarkCalendars(eventCount, attendeesPerEvent, overlapDensity, groupSize, 42);
+    events = calendars.getEvents();
+    snapshot = new EventStore(events).snapshot();
+    index = new EventIndex(events);
+    requests = calendars.getRequests();
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryEvents() {
+    return query.query(events, nextRequest());
+  }
+
+  @Benchmark
+  public Collection<TimeRange> querySnapshot() {
+    return query.query(snapshot, nextRequest());
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryIndex() {
+    return query.query(index, nextRequest());
+  }
+
+  private MeetingRequest nextRequest() {
+    next = (next + 1) % requests.size();
+    return requests.get(next);
+  }
+}
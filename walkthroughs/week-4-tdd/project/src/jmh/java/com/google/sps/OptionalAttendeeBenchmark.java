@@ -0,0 +1,78 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code FindMeetingQuery.queryWithOptionalAttendees} with more optional attendees than
+ * an exhaustive search over their subsets could handle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OptionalAttendeeBenchmark {
+  @Param({"10", "40"})
+  public int optionalCount;
+
+  @Param({"8"})
+  public int meetingsPerAttendee;
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+  private EventIndex index;
+  private MeetingRequest request;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(7);
+    List<Event> events = new ArrayList<>();
+    List<String> optionalAttendees = new ArrayList<>();
+    for (int person = 0; person < optionalCount; person++) {
+      String name = "Optional " + person;
+      optionalAttendees.add(name);
+      for (int meeting = 0; meeting < meetingsPerAttendee; meeting++) {
+        events.add(new Event("Meeting",
+            TimeRange.fromStartDuration(random.nextInt(1380), 15 + random.nextInt(60)),
+            Arrays.asList(name)));
+      }
+    }
+    index = new EventIndex(events);
+    request = new MeetingRequest(Arrays.asList("Person A"), optionalAttendees, 30);
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryWithOptionalAttendees() {
+    return query.queryWithOptionalAttendees(index, request);
+  }
+}
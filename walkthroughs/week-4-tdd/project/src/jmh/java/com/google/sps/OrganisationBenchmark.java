@@ -0,0 +1,99 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures queries against a realistic organisation from {@code CalendarGenerator}. Each request
+ * is somebody's team plus a few people from elsewhere, some of them optional.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrganisationBenchmark {
+  @Param({"100", "1000", "10000", "100000"})
+  public int population;
+
+  @Param({"0", "4"})
+  public int outsiders;
+
+  private final FindMeetingQuery query = new FindMeetingQuery();
+  private List<Event> events;
+  private EventIndex index;
+  private List<MeetingRequest> requests;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    CalendarGenerator generator = new CalendarGenerator(population, 42);
+    events = generator.generate();
+    index = new EventIndex(events);
+
+    Random random = new Random(42);
+    List<String> people = generator.getPeople();
+    requests = new ArrayList<>();
+    for (int i = 0; i < BenchmarkCalendars.REQUEST_COUNT; i++) {
+      String person = people.get(random.nextInt(people.size()));
+      List<String> attendees = new ArrayList<>(generator.getTeamOf(person));
+      for (int j = 0; j < outsiders / 2; j++) {
+        attendees.add(people.get(random.nextInt(people.size())));
+      }
+      List<String> optionalAttendees = new ArrayList<>();
+      for (int j = outsiders / 2; j < outsiders; j++) {
+        optionalAttendees.add(people.get(random.nextInt(people.size())));
+      }
+      requests.add(new MeetingRequest(attendees, optionalAttendees, 30));
+    }
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryEvents() {
+    return query.query(events, nextRequest());
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryIndex() {
+    return query.query(index, nextRequest());
+  }
+
+  @Benchmark
+  public Collection<TimeRange> queryWithOptionalAttendees() {
+    return query.queryWithOptionalAttendees(index, nextRequest());
+  }
+
+  private MeetingRequest nextRequest() {
+    next = (next + 1) % requests.size();
+    return requests.get(next);
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@code TimeRange} primitives the query is built from: pairwise {@code overlaps}
+ * and {@code contains} checks, and sorting with {@code ORDER_BY_START}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeRangeBenchmark {
+  @Param({"10", "1000", "100000", "1000000"})
+  public int eventCount;
+
+  @Param({"0.25", "1.5"})
+  public double overlapDensity;
+
+  private List<TimeRange> ranges;
+  private TimeRange probe;
+
+  @Setup
+  public void setUp() {
+    BenchmarkCalendars calendars = new BenchmarkCalendars(eventCount, 1, overlapDensity, 1, 42);
+    ranges = new ArrayList<>(eventCount);
+    for (Event event : calendars.getEvents()) {
+      ranges.add(event.getWhen());
+    }
+    probe = TimeRange.fromStartDuration(TimeRange.getTimeInMinutes(12, 0), 60);
+  }
+
+  @Benchmark
+  public void overlaps(Blackhole blackhole) {
+    for (TimeRange range : ranges) {
+      blackhole.consume(range.overlaps(probe));
+    }
+  }
+
+  @Benchmark
+  public void containsRange(Blackhole blackhole) {
+    for (TimeRange range : ranges) {
+      blackhole.consume(range.contains(probe));
+    }
+  }
+
+  @Benchmark
+  public void containsPoint(Blackhole blackhole) {
+    for (TimeRange range : ranges) {
+      blackhole.consume(range.contains(probe.start()));
+    }
+  }
+
+  @Benchmark
+  public List<TimeRange> sortByStart() {
+    List<TimeRange> copy = new ArrayList<>(ranges);
+    Collections.sort(copy, TimeRange.ORDER_BY_START);
+    return copy;
+  }
+}
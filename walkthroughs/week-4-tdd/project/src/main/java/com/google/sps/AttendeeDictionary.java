@@ -0,0 +1,109 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns attendee names to dense integer ids, starting at zero. The same name always maps to the
+ * same id, so attendee sets can be stored and compared as sorted {@code int[]}s or bitsets instead
+ * of sets of strings. Ids are never released, so a dictionary should only intern names from a
+ * bounded source, such as the events of one {@code EventStore}; names from requests should only be
+ * looked up with {@link #idOf(String)}. Dictionaries are thread-safe.
+ */
+public final class AttendeeDictionary {
+  private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+  private final List<String> names = new ArrayList<>();
+
+  /**
+   * Returns the id of {@code name}, assigning the next free id if it has none yet.
+   */
+  public int intern(String name) {
+    Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (names) {
+      // Another thread may have interned the name while we waited for the lock.
+      return ids.computeIfAbsent(name, key -> {
+        names.add(key);
+        return names.size() - 1;
+      });
+    }
+  }
+
+  /**
+   * Returns the id of {@code name}, or -1 if it was never interned. Never assigns a new id.
+   */
+  public int idOf(String name) {
+    Integer id = ids.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the canonical name for {@code id}.
+   */
+  public String nameOf(int id) {
+    synchronized (names) {
+      return names.get(id);
+    }
+  }
+
+  /**
+   * Returns the number of interned names.
+   */
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * Interns every name in {@code names} and returns their ids sorted and without duplicates.
+   */
+  public int[] internAll(Collection<String> names) {
+    int[] result = new int[names.size()];
+    int size = 0;
+    for (String name : names) {
+      result[size++] = intern(name);
+    }
+    Arrays.sort(result);
+    int distinct = 0;
+    for (int i = 0; i < size; i++) {
+      if (distinct == 0 || result[distinct - 1] != result[i]) {
+        result[distinct++] = result[i];
+      }
+    }
+    return distinct == size ? result : Arrays.copyOf(result, distinct);
+  }
+
+  /**
+   * Returns a bitset with the ids of {@code names} set. Names that were never interned cannot be
+   * attending any event and are left out.
+   */
+  public BitSet toBitSet(Collection<String> names) {
+    BitSet bits = new BitSet();
+    for (String name : names) {
+      int id = idOf(name);
+      if (id >= 0) {
+        bits.set(id);
+      }
+    }
+    return bits;
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Strategy used by {@code FindMeetingQuery} to turn the calendars of the required attendees into
+ * the vacant slots of the day.
+ */
+public interface AvailabilityEngine {
+  /**
+   * Returns the slots of at least {@code minDuration} minutes in which nobody is busy, in
+   * ascending order.
+   *
+   * @param busyByAttendee One list of busy ranges per required attendee. Each list is sorted by
+   *     start time, but the ranges within a list may overlap.
+   * @param minDuration The requested meeting length in minutes.
+   */
+  List<TimeRange> findVacantSlots(List<List<TimeRange>> busyByAttendee, long minDuration);
+
+  /**
+   * Same as {@link #findVacantSlots(List, long)} for the calendars of {@code attendees} in
+   * {@code index}. Engines override this to reuse whatever the index has prepared for them.
+   */
+  default List<TimeRange> findVacantSlots(
+      EventIndex index, Collection<String> attendees, long minDuration) {
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>(attendees.size());
+    for (String attendee : attendees) {
+      busyByAttendee.add(index.getBusy(attendee));
+    }
+    return findVacantSlots(busyByAttendee, minDuration);
+  }
+}
@@ -0,0 +1,163 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A day packed into a {@code long[]}, one bit per bucket of {@code granularity} minutes. A set bit
+ * means somebody is busy during (part of) that bucket. At one-minute granularity the whole day
+ * takes 1440 bits, i.e. 23 words.
+ */
+public final class AvailabilityMask {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  private final int granularity;
+  private final int bits;
+  private final long[] words;
+
+  /**
+   * Creates a mask in which the whole day is free.
+   *
+   * @param granularity Minutes per bit. Must be positive and divide the length of the day.
+   */
+  public AvailabilityMask(int granularity) {
+    checkGranularity(granularity);
+    this.granularity = granularity;
+    this.bits = MINUTES_PER_DAY / granularity;
+    this.words = new long[(bits + 63) >>> 6];
+  }
+
+  /**
+   * Creates a mask in which every bucket touched by one of {@code ranges} is busy.
+   */
+  public static AvailabilityMask fromRanges(Iterable<TimeRange> ranges, int granularity) {
+    AvailabilityMask mask = new AvailabilityMask(granularity);
+    for (TimeRange range : ranges) {
+      mask.markBusy(range);
+    }
+    return mask;
+  }
+
+  static void checkGranularity(int granularity) {
+    if (granularity <= 0 || MINUTES_PER_DAY % granularity != 0) {
+      throw new IllegalArgumentException(
+          "granularity must be a positive number of minutes dividing " + MINUTES_PER_DAY);
+    }
+  }
+
+  /**
+   * Returns the number of minutes represented by each bit.
+   */
+  public int getGranularity() {
+    return granularity;
+  }
+
+  /**
+   * Marks every bucket overlapping {@code range} as busy. Parts of the range outside the day are
+   * ignored.
+   */
+  public void markBusy(TimeRange range) {
+    int start = Math.max(range.start(), TimeRange.START_OF_DAY);
+    int end = Math.min(range.end(), MINUTES_PER_DAY);
+    if (end <= start) {
+      return;
+    }
+    // Round outwards: a bucket is busy if any of its minutes is.
+    setBits(start / granularity, (end + granularity - 1) / granularity);
+  }
+
+  /**
+   * Marks every bucket that is busy in {@code other} as busy in this mask.
+   */
+  public void or(AvailabilityMask other) {
+    if (other.granularity != granularity) {
+      throw new IllegalArgumentException("cannot combine masks of different granularity");
+    }
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  /**
+   * Returns the runs of free buckets lasting at least {@code minDuration} minutes, in ascending
+   * order.
+   */
+  public List<TimeRange> vacantSlots(long minDuration) {
+    List<TimeRange> vacant = new ArrayList<>();
+    int free = nextClearBit(0);
+    while (free < bits) {
+      int busy = nextSetBit(free);
+      int length = (busy - free) * granularity;
+      if (length >= minDuration) {
+        vacant.add(TimeRange.fromStartDuration(free * granularity, length));
+      }
+      free = nextClearBit(busy);
+    }
+    return vacant;
+  }
+
+  /** Sets bits {@code from} (inclusive) to {@code to} (exclusive). */
+  private void setBits(int from, int to) {
+    int firstWord = from >>> 6;
+    int lastWord = (to - 1) >>> 6;
+    // Shifts only use the low six bits, so these select [from % 64, 64) and [0, to % 64).
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+
+    if (firstWord == lastWord) {
+      words[firstWord] |= firstMask & lastMask;
+      return;
+    }
+    words[firstWord] |= firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      words[i] = -1L;
+    }
+    words[lastWord] |= lastMask;
+  }
+
+  /** Returns the index of the first free bucket at or after {@code from}, or {@code bits}. */
+  private int nextClearBit(int from) {
+    int index = from >>> 6;
+    if (index >= words.length) {
+      return bits;
+    }
+    long word = ~words[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == words.length) {
+        return bits;
+      }
+      word = ~words[index];
+    }
+    return Math.min(bits, (index << 6) + Long.numberOfTrailingZeros(word));
+  }
+
+  /** Returns the index of the first busy bucket at or after {@code from}, or {@code bits}. */
+  private int nextSetBit(int from) {
+    int index = from >>> 6;
+    if (index >= words.length) {
+      return bits;
+    }
+    long word = words[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == words.length) {
+        return bits;
+      }
+      word = words[index];
+    }
+    return Math.min(bits, (index << 6) + Long.numberOfTrailingZeros(word));
+  }
+}
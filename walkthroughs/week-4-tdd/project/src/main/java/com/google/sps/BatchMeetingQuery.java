@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Answers many {@code MeetingRequest}s against the same events at once. The index already holds
+ * every attendee's calendar merged into disjoint busy intervals, so the whole batch shares that
+ * work, and the requests are evaluated in parallel on a {@code ForkJoinPool}. Requests large
+ * enough to be merged in parallel themselves run on the same pool.
+ */
+public final class BatchMeetingQuery {
+  private final ForkJoinPool pool;
+  private final FindMeetingQuery findMeetingQuery;
+
+  /**
+   * Creates a batch query that runs on the common fork-join pool.
+   */
+  public BatchMeetingQuery() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a batch query that runs on {@code pool}. Must be non-null.
+   */
+  public BatchMeetingQuery(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+    this.pool = pool;
+    this.findMeetingQuery =
+        new FindMeetingQuery(pool, FindMeetingQuery.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Returns the answer to every request, in the same order as {@code requests}. Each answer is the
+   * same as {@link FindMeetingQuery#query(EventIndex, MeetingRequest)} would give, or
+   * {@link FindMeetingQuery#queryWithOptionalAttendees} for requests with optional attendees.
+   */
+  public List<Collection<TimeRange>> query(EventIndex index, List<MeetingRequest> requests) {
+    if (requests.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    // Parallel streams started from inside a pool task run on that pool.
+    return pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, requests.size())
+        .parallel()
+        .mapToObj(i -> answer(index, requests.get(i)))
+        .collect(Collectors.toList())));
+  }
+
+  private Collection<TimeRange> answer(EventIndex index, MeetingRequest request) {
+    if (request.getOptionalAttendees().isEmpty()) {
+      return findMeetingQuery.query(index, request);
+    }
+    return findMeetingQuery.queryWithOptionalAttendees(index, request);
+  }
+}
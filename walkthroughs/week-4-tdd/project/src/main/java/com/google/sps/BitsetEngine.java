@@ -0,0 +1,79 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Engine that paints every attendee's day into an {@code AvailabilityMask}, ORs the masks together
+ * and scans the result for long enough runs of free bits.
+ *
+ * <p>With a granularity of one minute the answer is identical to {@code SweepLineEngine}. Coarser
+ * granularities make the masks smaller but round busy time outwards to whole buckets, so a slot is
+ * only reported if it covers complete buckets.
+ *
+ * <p>Given an {@code EventIndex}, the engine uses the masks the index keeps for each attendee, so
+ * a query is only word-wise ORs and one scan. Given plain busy lists, it has to paint the masks
+ * first.
+ */
+public final class BitsetEngine implements AvailabilityEngine {
+  private final int granularity;
+
+  /**
+   * Creates an engine with one bit per minute.
+   */
+  public BitsetEngine() {
+    this(1);
+  }
+
+  /**
+   * Creates an engine with one bit per {@code granularity} minutes, e.g. 1, 5 or 15. Must divide
+   * the length of the day.
+   */
+  public BitsetEngine(int granularity) {
+    AvailabilityMask.checkGranularity(granularity);
+    this.granularity = granularity;
+  }
+
+  /**
+   * Returns the number of minutes represented by each bit.
+   */
+  public int getGranularity() {
+    return granularity;
+  }
+
+  @Override
+  public List<TimeRange> findVacantSlots(List<List<TimeRange>> busyByAttendee, long minDuration) {
+    AvailabilityMask combined = new AvailabilityMask(granularity);
+    for (List<TimeRange> busy : busyByAttendee) {
+      combined.or(AvailabilityMask.fromRanges(busy, granularity));
+    }
+    return combined.vacantSlots(minDuration);
+  }
+
+  @Override
+  public List<TimeRange> findVacantSlots(
+      EventIndex index, Collection<String> attendees, long minDuration) {
+    AvailabilityMask combined = new AvailabilityMask(granularity);
+    for (String attendee : attendees) {
+      AvailabilityMask mask = index.getMask(attendee, granularity);
+      if (mask != null) {
+        combined.or(mask);
+      }
+    }
+    return combined.vacantSlots(minDuration);
+  }
+}
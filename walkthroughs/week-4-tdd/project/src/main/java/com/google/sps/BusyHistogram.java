@@ -0,0 +1,158 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts, for every minute of the day, how many people are busy. Each person's busy ranges must be
+ * disjoint, as {@link EventIndex#getBusy(String)} returns them, so that overlapping events count
+ * them once. Every range adds one at its start and takes one off at its end in a difference array,
+ * and a single prefix sum turns that into the counts. Building the histogram costs O(E + 1440) for
+ * E ranges, however many people there are.
+ */
+public final class BusyHistogram {
+  private BusyHistogram() {
+    // Disallow instances.
+  }
+
+  /**
+   * Returns an array whose element {@code m} is the number of people in {@code busyByAttendee} who
+   * are busy during minute {@code m} of the day. Ranges outside the day are ignored.
+   *
+   * @param busyByAttendee Each person's disjoint busy ranges, in ascending order.
+   */
+  public static int[] countBusy(List<List<TimeRange>> busyByAttendee) {
+    int[] counts = new int[SweepLineMerger.DAY_END + 1];
+    for (List<TimeRange> busy : busyByAttendee) {
+      for (TimeRange range : busy) {
+        int start = SweepLineMerger.clampToDay(range.start());
+        int end = SweepLineMerger.clampToDay(range.end());
+        if (end > start) {
+          counts[start]++;
+          counts[end]--;
+        }
+      }
+    }
+
+    for (int minute = 1; minute < counts.length; minute++) {
+      counts[minute] += counts[minute - 1];
+    }
+    // The extra element only held the decrements of ranges ending at midnight.
+    int[] day = new int[SweepLineMerger.DAY_END];
+    System.arraycopy(counts, 0, day, 0, day.length);
+    return day;
+  }
+
+  /**
+   * Returns every maximal window of at least {@code minDuration} minutes in which at least
+   * {@code quorum} of the people in {@code busyByAttendee} are free, in ascending order. Who is
+   * free may change within a window; only the number matters.
+   *
+   * @param busyByAttendee Each person's disjoint busy ranges, in ascending order.
+   * @param quorum How many people must be free. Must not be negative.
+   * @param minDuration The shortest window worth reporting, in minutes.
+   */
+  public static List<TimeRange> quorumSlots(
+      List<List<TimeRange>> busyByAttendee, int quorum, long minDuration) {
+    if (quorum < 0) {
+      throw new IllegalArgumentException("quorum cannot be negative");
+    }
+
+    List<TimeRange> slots = new ArrayList<>();
+    int people = busyByAttendee.size();
+    if (quorum > people) {
+      return slots;
+    }
+
+    int[] busy = countBusy(busyByAttendee);
+    int runStart = -1;
+    for (int minute = 0; minute <= busy.length; minute++) {
+      boolean enoughFree = minute < busy.length && people - busy[minute] >= quorum;
+      if (enoughFree && runStart < 0) {
+        runStart = minute;
+      } else if (!enoughFree && runStart >= 0) {
+        if (minute - runStart >= minDuration) {
+          slots.add(TimeRange.fromStartEnd(runStart, minute, false));
+        }
+        runStart = -1;
+      }
+    }
+    return slots;
+  }
+
+  /**
+   * Run-length encodes {@code counts}: returns one {@link Run} per stretch of consecutive minutes
+   * with the same count, in ascending order. A day with few changes encodes to a handful of runs
+   * instead of 1440 numbers.
+   */
+  public static List<Run> runLengths(int[] counts) {
+    List<Run> runs = new ArrayList<>();
+    int runStart = 0;
+    for (int minute = 1; minute <= counts.length; minute++) {
+      if (minute == counts.length || counts[minute] != counts[runStart]) {
+        runs.add(new Run(runStart, minute, counts[runStart]));
+        runStart = minute;
+      }
+    }
+    return runs;
+  }
+
+  /** Minutes {@code start} (inclusive) to {@code end} (exclusive), which all have one count. */
+  public static final class Run {
+    private final int start;
+    private final int end;
+    private final int busy;
+
+    public Run(int start, int end, int busy) {
+      this.start = start;
+      this.end = end;
+      this.busy = busy;
+    }
+
+    public int getStart() {
+      return start;
+    }
+
+    public int getEnd() {
+      return end;
+    }
+
+    /** Returns how many people are busy throughout the run. */
+    public int getBusy() {
+      return busy;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Run)) {
+        return false;
+      }
+      Run run = (Run) other;
+      return start == run.start && end == run.end && busy == run.busy;
+    }
+
+    @Override
+    public int hashCode() {
+      return (start * 31 + end) * 31 + busy;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Run: [%d, %d) busy=%d", start, end, busy);
+    }
+  }
+}
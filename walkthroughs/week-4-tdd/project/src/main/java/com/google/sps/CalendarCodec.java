@@ -0,0 +1,167 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes events in a compact binary format, so that large generated calendars can be
+ * saved once and loaded quickly by benchmarks and load tests.
+ *
+ * <p>The stream starts with a magic number and the table of attendee names. Each name is written
+ * once; events then refer to attendees and titles by their position in a table, and all counts
+ * and times are written as variable-length integers. A generated event takes a handful of bytes.
+ */
+public final class CalendarCodec {
+  private static final int MAGIC = 0x43414C31; // "CAL1"
+  // The most elements a list is sized for before any of them have been read.
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private CalendarCodec() {}
+
+  /**
+   * Writes {@code events} to {@code out}. The stream is flushed but not closed.
+   *
+   * @throws IllegalArgumentException if an event starts before minute 0 or has a negative
+   *     duration, which {@link #read} could not read back. Nothing is written in that case.
+   */
+  public static void write(Collection<Event> events, OutputStream out) throws IOException {
+    Map<String, Integer> nameIds = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    for (Event event : events) {
+      TimeRange when = event.getWhen();
+      // The end must not overflow either, as read checks start + duration too.
+      if (when.start() < 0 || when.duration() < 0 || when.end() < 0) {
+        throw new IllegalArgumentException("cannot encode " + when);
+      }
+      addName(event.getTitle(), nameIds, names);
+      for (String attendee : event.getAttendees()) {
+        addName(attendee, nameIds, names);
+      }
+    }
+
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    writeVarInt(data, names.size());
+    for (String name : names) {
+      data.writeUTF(name);
+    }
+
+    writeVarInt(data, events.size());
+    for (Event event : events) {
+      writeVarInt(data, nameIds.get(event.getTitle()));
+      writeVarInt(data, event.getWhen().start());
+      writeVarInt(data, event.getWhen().duration());
+      writeVarInt(data, event.getAttendees().size());
+      for (String attendee : event.getAttendees()) {
+        writeVarInt(data, nameIds.get(attendee));
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads the events written by {@link #write}. Reads exactly the bytes of the calendar, so any
+   * data after it can still be read from {@code in}, and does not close the stream. The stream is
+   * read a byte at a time, so pass a buffered one.
+   *
+   * @throws IOException if the stream is not in this format or ends early.
+   */
+  public static List<Event> read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("not a calendar stream");
+    }
+
+    // Counts come from the stream, so they are checked before use and never trusted to size an
+    // allocation: a corrupt count fails when the stream runs out, not with a huge array.
+    int nameCount = readCount(data, "name", Integer.MAX_VALUE);
+    List<String> nameList = new ArrayList<>(Math.min(nameCount, INITIAL_CAPACITY));
+    for (int i = 0; i < nameCount; i++) {
+      nameList.add(data.readUTF());
+    }
+    String[] names = nameList.toArray(new String[0]);
+
+    int eventCount = readCount(data, "event", Integer.MAX_VALUE);
+    List<Event> events = new ArrayList<>(Math.min(eventCount, INITIAL_CAPACITY));
+    for (int i = 0; i < eventCount; i++) {
+      String title = name(names, readVarInt(data));
+      int start = readCount(data, "start", Integer.MAX_VALUE);
+      int duration = readCount(data, "duration", Integer.MAX_VALUE - start);
+      TimeRange when = TimeRange.fromStartDuration(start, duration);
+      // Attendees are written without duplicates, so there cannot be more than there are names.
+      String[] attendees = new String[readCount(data, "attendee", names.length)];
+      for (int j = 0; j < attendees.length; j++) {
+        attendees[j] = name(names, readVarInt(data));
+      }
+      events.add(new Event(title, when, Arrays.asList(attendees)));
+    }
+    return events;
+  }
+
+  /** Reads a non-negative integer no larger than {@code max}. */
+  private static int readCount(DataInputStream data, String what, int max) throws IOException {
+    int value = readVarInt(data);
+    if (value < 0 || value > max) {
+      throw new IOException(what + " out of range: " + value);
+    }
+    return value;
+  }
+
+  private static void addName(String name, Map<String, Integer> nameIds, List<String> names) {
+    if (!nameIds.containsKey(name)) {
+      nameIds.put(name, names.size());
+      names.add(name);
+    }
+  }
+
+  private static String name(String[] names, int id) throws IOException {
+    if (id < 0 || id >= names.length) {
+      throw new IOException("name id out of range: " + id);
+    }
+    return names[id];
+  }
+
+  private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      data.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    data.writeByte(value);
+  }
+
+  private static int readVarInt(DataInputStream data) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = data.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("malformed variable-length integer");
+  }
+}
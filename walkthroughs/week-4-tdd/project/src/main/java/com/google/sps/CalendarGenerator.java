@@ -0,0 +1,237 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Generates reproducible calendars for an organisation of people split into teams. A day holds
+ * 1-on-1s, team meetings, all-hands, out-of-office blocks and ad-hoc meetings whose attendee
+ * counts follow a heavy-tailed (Pareto) distribution, so most meetings are small but a few are
+ * very large. The same seed and settings always produce the same events.
+ */
+public final class CalendarGenerator {
+  private static final int WORK_START = TimeRange.getTimeInMinutes(9, 0);
+  private static final int WORK_END = TimeRange.getTimeInMinutes(17, 0);
+  private static final int NOON = TimeRange.getTimeInMinutes(12, 0);
+  // Shape and minimum of the Pareto distribution of ad-hoc meeting sizes.
+  private static final double AD_HOC_SIZE_ALPHA = 1.5;
+  private static final int AD_HOC_MIN_SIZE = 2;
+
+  private final List<String> people;
+  private final int teamSize;
+  private final double oneOnOnesPerPerson;
+  private final double teamMeetingsPerTeam;
+  private final int allHandsPerDay;
+  private final double outOfOfficeRate;
+  private final double adHocMeetingsPerPerson;
+  private final long seed;
+
+  /**
+   * Creates a generator for {@code population} people with typical settings: teams of 8, one 1-on-1
+   * and one ad-hoc meeting per person, one meeting per team, a daily all-hands and 5% of people
+   * out of office.
+   */
+  public CalendarGenerator(int population, long seed) {
+    this(population, 8, 1, 1, 1, 0.05, 1, seed);
+  }
+
+  /**
+   * Creates a generator. Rates are expected values per day; fractional rates are rounded up or down
+   * at random.
+   *
+   * @param population The number of people, named "Person 0" onwards. Must be positive.
+   * @param teamSize The number of people per team. Must be positive.
+   * @param oneOnOnesPerPerson The number of 1-on-1s each person attends.
+   * @param teamMeetingsPerTeam The number of meetings each team holds.
+   * @param allHandsPerDay The number of meetings that everyone attends.
+   * @param outOfOfficeRate The probability that a person is away for half or all of the day.
+   * @param adHocMeetingsPerPerson The number of ad-hoc meetings each person attends.
+   * @param seed The seed that makes the output reproducible.
+   */
+  public CalendarGenerator(int population, int teamSize, double oneOnOnesPerPerson,
+      double teamMeetingsPerTeam, int allHandsPerDay, double outOfOfficeRate,
+      double adHocMeetingsPerPerson, long seed) {
+    if (population <= 0) {
+      throw new IllegalArgumentException("population must be positive");
+    }
+
+    if (teamSize <= 0) {
+      throw new IllegalArgumentException("teamSize must be positive");
+    }
+
+    if (oneOnOnesPerPerson < 0 || teamMeetingsPerTeam < 0 || allHandsPerDay < 0
+        || outOfOfficeRate < 0 || adHocMeetingsPerPerson < 0) {
+      throw new IllegalArgumentException("rates cannot be negative");
+    }
+
+    List<String> people = new ArrayList<>(population);
+    for (int i = 0; i < population; i++) {
+      people.add("Person " + i);
+    }
+    this.people = Collections.unmodifiableList(people);
+    this.teamSize = teamSize;
+    this.oneOnOnesPerPerson = oneOnOnesPerPerson;
+    this.teamMeetingsPerTeam = teamMeetingsPerTeam;
+    this.allHandsPerDay = allHandsPerDay;
+    this.outOfOfficeRate = outOfOfficeRate;
+    this.adHocMeetingsPerPerson = adHocMeetingsPerPerson;
+    this.seed = seed;
+  }
+
+  /**
+   * Returns everyone in the organisation.
+   */
+  public List<String> getPeople() {
+    return people;
+  }
+
+  /**
+   * Returns the members of the team {@code person} belongs to, including {@code person}.
+   */
+  public List<String> getTeamOf(String person) {
+    int index = people.indexOf(person);
+    if (index < 0) {
+      throw new IllegalArgumentException("unknown person: " + person);
+    }
+    int first = index / teamSize * teamSize;
+    return people.subList(first, Math.min(first + teamSize, people.size()));
+  }
+
+  /**
+   * Returns the events of the first day.
+   */
+  public List<Event> generate() {
+    return generate(0);
+  }
+
+  /**
+   * Returns the events of day {@code day}. Every day has a different but reproducible calendar.
+   */
+  public List<Event> generate(long day) {
+    Random random = new Random(seed * 31 + day);
+    int[] order = new int[people.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    List<Event> events = new ArrayList<>();
+
+    for (int i = 0; i < allHandsPerDay; i++) {
+      events.add(new Event("All hands", workingHours(random, 60), people));
+    }
+
+    for (int first = 0; first < people.size(); first += teamSize) {
+      List<String> team = people.subList(first, Math.min(first + teamSize, people.size()));
+      for (int i = count(random, teamMeetingsPerTeam); i > 0; i--) {
+        int duration = random.nextBoolean() ? 30 : 60;
+        events.add(new Event("Team meeting", workingHours(random, duration), team));
+      }
+    }
+
+    // Every 1-on-1 takes two people, so half as many meetings give each person the wanted rate.
+    for (int i = count(random, people.size() * oneOnOnesPerPerson / 2); i > 0; i--) {
+      int person = random.nextInt(people.size());
+      int other = random.nextInt(4) == 0 ? random.nextInt(people.size()) : teammate(random, person);
+      if (other != person) {
+        events.add(new Event("1:1", workingHours(random, 30),
+            Arrays.asList(people.get(person), people.get(other))));
+      }
+    }
+
+    for (int person = 0; person < people.size(); person++) {
+      if (random.nextDouble() < outOfOfficeRate) {
+        events.add(
+            new Event("Out of office", outOfOffice(random), Arrays.asList(people.get(person))));
+      }
+    }
+
+    // With a Pareto distribution the mean size is alpha * min / (alpha - 1).
+    double meanSize = AD_HOC_SIZE_ALPHA * AD_HOC_MIN_SIZE / (AD_HOC_SIZE_ALPHA - 1);
+    for (int i = count(random, people.size() * adHocMeetingsPerPerson / meanSize); i > 0; i--) {
+      int duration = 15 * (1 + random.nextInt(8));
+      events.add(new Event("Meeting", workingHours(random, duration),
+          sample(random, order, adHocSize(random))));
+    }
+
+    return events;
+  }
+
+  /**
+   * Returns the events of {@code dayCount} consecutive days starting at {@code firstDay}, keyed by
+   * day, in the shape {@link HorizonIndex#fromDailyEvents} expects.
+   */
+  public Map<Long, List<Event>> generateDays(long firstDay, int dayCount) {
+    Map<Long, List<Event>> eventsByDay = new TreeMap<>();
+    for (long day = firstDay; day < firstDay + dayCount; day++) {
+      eventsByDay.put(day, generate(day));
+    }
+    return eventsByDay;
+  }
+
+  private int teammate(Random random, int person) {
+    int first = person / teamSize * teamSize;
+    return first + random.nextInt(Math.min(teamSize, people.size() - first));
+  }
+
+  private int adHocSize(Random random) {
+    double size = AD_HOC_MIN_SIZE / Math.pow(1 - random.nextDouble(), 1 / AD_HOC_SIZE_ALPHA);
+    return (int) Math.min(size, people.size());
+  }
+
+  /**
+   * Picks {@code size} different people with a partial Fisher-Yates shuffle of {@code order}.
+   */
+  private List<String> sample(Random random, int[] order, int size) {
+    List<String> picked = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int j = i + random.nextInt(order.length - i);
+      int swap = order[i];
+      order[i] = order[j];
+      order[j] = swap;
+      picked.add(people.get(order[i]));
+    }
+    return picked;
+  }
+
+  private static TimeRange workingHours(Random random, int duration) {
+    int slots = (WORK_END - WORK_START - duration) / 15 + 1;
+    return TimeRange.fromStartDuration(WORK_START + 15 * random.nextInt(slots), duration);
+  }
+
+  private static TimeRange outOfOffice(Random random) {
+    switch (random.nextInt(3)) {
+      case 0:
+        return TimeRange.fromStartEnd(TimeRange.START_OF_DAY, NOON, false);
+      case 1:
+        return TimeRange.fromStartEnd(NOON, TimeRange.END_OF_DAY, true);
+      default:
+        return TimeRange.WHOLE_DAY;
+    }
+  }
+
+  /**
+   * Rounds {@code expected} to a whole count, up with probability equal to its fraction.
+   */
+  private static int count(Random random, double expected) {
+    int whole = (int) expected;
+    return random.nextDouble() < expected - whole ? whole + 1 : whole;
+  }
+}
@@ -0,0 +1,138 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A min-heap of calendars keyed on the start of each calendar's next range, for merging sorted
+ * calendars in one pass. Calendar numbers are kept in a plain {@code int[]}, so nothing is boxed,
+ * and the arrays are kept across {@link #reset(List)} so that one heap can serve many merges.
+ * Ranges without a duration are skipped, since they do not make anyone busy.
+ */
+final class CalendarHeap {
+  private List<List<TimeRange>> calendars = Collections.emptyList();
+  // The position of every calendar's next range.
+  private int[] positions;
+  private int[] heap;
+  private int size;
+
+  /**
+   * Creates an empty heap with room for {@code capacity} calendars. It grows when needed.
+   */
+  CalendarHeap(int capacity) {
+    this.positions = new int[Math.max(1, capacity)];
+    this.heap = new int[positions.length];
+  }
+
+  /**
+   * Starts a new merge over {@code calendars}, each sorted by {@link TimeRange#ORDER_BY_START}.
+   * Allocates nothing unless there are more calendars than the heap has room for.
+   */
+  void reset(List<List<TimeRange>> calendars) {
+    int count = calendars.size();
+    if (positions.length < count) {
+      positions = new int[Math.max(count, 2 * positions.length)];
+      heap = new int[positions.length];
+    }
+    this.calendars = calendars;
+    size = 0;
+    for (int calendar = 0; calendar < count; calendar++) {
+      positions[calendar] = 0;
+      if (skipEmpty(calendar)) {
+        heap[size++] = calendar;
+      }
+    }
+    for (int i = size / 2 - 1; i >= 0; i--) {
+      siftDown(i);
+    }
+  }
+
+  /**
+   * Forgets the calendars of the last merge, so that the heap does not keep them reachable.
+   */
+  void clear() {
+    calendars = Collections.emptyList();
+    size = 0;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the next range with the earliest start across all calendars. The heap must not be
+   * empty.
+   */
+  TimeRange peek() {
+    return next(heap[0]);
+  }
+
+  /**
+   * Moves past the range returned by {@link #peek()}.
+   */
+  void advance() {
+    int calendar = heap[0];
+    positions[calendar]++;
+    if (!skipEmpty(calendar)) {
+      heap[0] = heap[--size];
+    }
+    if (size > 0) {
+      siftDown(0);
+    }
+  }
+
+  /**
+   * Moves the calendar past ranges without a duration. Returns true if it has a range left.
+   */
+  private boolean skipEmpty(int calendar) {
+    List<TimeRange> busy = calendars.get(calendar);
+    while (positions[calendar] < busy.size() && busy.get(positions[calendar]).duration() <= 0) {
+      positions[calendar]++;
+    }
+    return positions[calendar] < busy.size();
+  }
+
+  private void siftDown(int i) {
+    int calendar = heap[i];
+    int start = next(calendar).start();
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      int childStart = next(heap[child]).start();
+      if (child + 1 < size) {
+        int rightStart = next(heap[child + 1]).start();
+        if (rightStart < childStart) {
+          child++;
+          childStart = rightStart;
+        }
+      }
+      if (childStart >= start) {
+        break;
+      }
+      heap[i] = heap[child];
+      i = child;
+    }
+    heap[i] = calendar;
+  }
+
+  private TimeRange next(int calendar) {
+    return calendars.get(calendar).get(positions[calendar]);
+  }
+}
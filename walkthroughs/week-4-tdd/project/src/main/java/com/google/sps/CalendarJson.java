@@ -0,0 +1,194 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The JSON format shared by the servlets. {@link #GSON} is thread-safe and uses hand-written
+ * streaming adapters for {@code TimeRange}, {@code Event} and {@code MeetingRequest} instead of
+ * reflection. The wire format is the same one Gson's reflection produced before:
+ * <pre>
+ * TimeRange:      {"start": 480, "duration": 30}
+ * Event:          {"title": "...", "when": TimeRange, "attendees": ["...", ...]}
+ * MeetingRequest: {"attendees": ["...", ...], "optionalAttendees": [...], "duration": 30}
+ * </pre>
+ */
+public final class CalendarJson {
+  private static final TimeRangeAdapter TIME_RANGE_ADAPTER = new TimeRangeAdapter();
+
+  public static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapter(TimeRange.class, TIME_RANGE_ADAPTER.nullSafe())
+      .registerTypeAdapter(Event.class, new EventAdapter().nullSafe())
+      .registerTypeAdapter(MeetingRequest.class, new MeetingRequestAdapter().nullSafe())
+      .create();
+
+  private CalendarJson() {}
+
+  /**
+   * Streams {@code value} as JSON to {@code out}, followed by a newline, without building the
+   * whole document in memory first. {@code out} is flushed but not closed.
+   */
+  public static void write(Object value, Writer out) throws IOException {
+    JsonWriter writer = GSON.newJsonWriter(out);
+    GSON.toJson(value, value.getClass(), writer);
+    writer.flush();
+    out.write('\n');
+    out.flush();
+  }
+
+  private static final class TimeRangeAdapter extends TypeAdapter<TimeRange> {
+    @Override
+    public void write(JsonWriter out, TimeRange range) throws IOException {
+      out.beginObject();
+      out.name("start").value(range.start());
+      out.name("duration").value(range.duration());
+      out.endObject();
+    }
+
+    @Override
+    public TimeRange read(JsonReader in) throws IOException {
+      int start = 0;
+      int duration = 0;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "start":
+            start = in.nextInt();
+            break;
+          case "duration":
+            duration = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      return TimeRange.fromStartDuration(start, duration);
+    }
+  }
+
+  private static final class EventAdapter extends TypeAdapter<Event> {
+    @Override
+    public void write(JsonWriter out, Event event) throws IOException {
+      out.beginObject();
+      out.name("title").value(event.getTitle());
+      out.name("when");
+      TIME_RANGE_ADAPTER.write(out, event.getWhen());
+      out.name("attendees");
+      writeStrings(out, event.getAttendees());
+      out.endObject();
+    }
+
+    @Override
+    public Event read(JsonReader in) throws IOException {
+      String title = null;
+      TimeRange when = null;
+      List<String> attendees = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "title":
+            title = in.nextString();
+            break;
+          case "when":
+            when = TIME_RANGE_ADAPTER.read(in);
+            break;
+          case "attendees":
+            attendees = readStrings(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+      // The constructor rejects missing fields.
+      return new Event(title, when, attendees);
+    }
+  }
+
+  private static final class MeetingRequestAdapter extends TypeAdapter<MeetingRequest> {
+    @Override
+    public void write(JsonWriter out, MeetingRequest request) throws IOException {
+      out.beginObject();
+      out.name("attendees");
+      writeStrings(out, request.getAttendees());
+      out.name("optionalAttendees");
+      writeStrings(out, request.getOptionalAttendees());
+      out.name("duration").value(request.getDuration());
+      out.endObject();
+    }
+
+    @Override
+    public MeetingRequest read(JsonReader in) throws IOException {
+      List<String> attendees = new ArrayList<>();
+      List<String> optionalAttendees = new ArrayList<>();
+      long duration = 0;
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "attendees":
+            attendees = readStrings(in);
+            break;
+          case "optionalAttendees":
+            optionalAttendees = readStrings(in);
+            break;
+          case "duration":
+            // Form fields arrive as strings, which nextLong() also accepts.
+            duration = in.nextLong();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new MeetingRequest(attendees, optionalAttendees, duration);
+    }
+  }
+
+  private static void writeStrings(JsonWriter out, Collection<String> strings) throws IOException {
+    out.beginArray();
+    for (String string : strings) {
+      out.value(string);
+    }
+    out.endArray();
+  }
+
+  /** Reads an array of strings. A JSON null reads as an empty list. */
+  private static List<String> readStrings(JsonReader in) throws IOException {
+    List<String> strings = new ArrayList<>();
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return strings;
+    }
+    in.beginArray();
+    while (in.hasNext()) {
+      strings.add(in.nextString());
+    }
+    in.endArray();
+    return strings;
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.List;
+
+/**
+ * Engine that copies the busy ranges into {@code TimeRangeColumns} and sorts and merges them as
+ * packed primitives. Only the resulting vacant slots are turned into {@code TimeRange}s, and only
+ * when they are read.
+ */
+public final class ColumnarEngine implements AvailabilityEngine {
+  @Override
+  public List<TimeRange> findVacantSlots(List<List<TimeRange>> busyByAttendee, long minDuration) {
+    int total = 0;
+    for (List<TimeRange> busy : busyByAttendee) {
+      total += busy.size();
+    }
+
+    TimeRangeColumns occupied = new TimeRangeColumns(total);
+    for (List<TimeRange> busy : busyByAttendee) {
+      for (TimeRange range : busy) {
+        occupied.add(range);
+      }
+    }
+    return FindMeetingQuery.vacantSlots(occupied, minDuration);
+  }
+}
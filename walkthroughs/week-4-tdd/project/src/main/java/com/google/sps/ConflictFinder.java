@@ -0,0 +1,48 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds the existing events that clash with a new event, i.e. events that overlap it in time and
+ * share at least one attendee with it.
+ */
+public final class ConflictFinder {
+  private final EventIntervalTree tree;
+
+  /**
+   * Creates a finder over the existing {@code events}. Must be non-null.
+   */
+  public ConflictFinder(Collection<Event> events) {
+    this.tree = new EventIntervalTree(events);
+  }
+
+  /**
+   * Returns every existing event that overlaps {@code event} for at least one of its attendees,
+   * sorted by start time. The event itself is never reported as its own conflict.
+   */
+  public List<Event> findConflicts(Event event) {
+    List<Event> conflicts = new ArrayList<>();
+    for (Event candidate : tree.overlapping(event.getWhen())) {
+      if (!candidate.equals(event) && candidate.sharesAttendeesWith(event)) {
+        conflicts.add(candidate);
+      }
+    }
+    return conflicts;
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Comparator;
+
+/**
+ * Like {@code TimeRange}, but not limited to a single day: start and end are counted in minutes
+ * since the Unix epoch (1970-01-01 00:00 UTC), so a range can span days, weeks or years.
+ */
+public final class EpochTimeRange {
+  public static final long MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  /**
+   * A comparator for sorting ranges by their start time in ascending order.
+   */
+  public static final Comparator<EpochTimeRange> ORDER_BY_START =
+      new Comparator<EpochTimeRange>() {
+        @Override
+        public int compare(EpochTimeRange a, EpochTimeRange b) {
+          return Long.compare(a.start, b.start);
+        }
+      };
+
+  private final long start;
+  private final long duration;
+
+  private EpochTimeRange(long start, long duration) {
+    this.start = start;
+    this.duration = duration;
+  }
+
+  /**
+   * Returns the start of the range in epoch minutes.
+   */
+  public long start() {
+    return start;
+  }
+
+  /**
+   * Returns the number of minutes between the start and end.
+   */
+  public long duration() {
+    return duration;
+  }
+
+  /**
+   * Returns the end of the range in epoch minutes. This ending value is the closing exclusive
+   * bound.
+   */
+  public long end() {
+    return start + duration;
+  }
+
+  /**
+   * Checks if two ranges overlap, i.e. share at least one minute.
+   */
+  public boolean overlaps(EpochTimeRange other) {
+    return this.contains(other.start) || other.contains(this.start);
+  }
+
+  /**
+   * Checks if {@code point} falls within this range. The end of the range is exclusive.
+   */
+  public boolean contains(long point) {
+    return duration > 0 && point >= start && point < start + duration;
+  }
+
+  /**
+   * Returns the part of {@code range}, a time of day, that falls on day {@code epochDay} (days
+   * since 1970-01-01).
+   */
+  public static EpochTimeRange onDay(long epochDay, TimeRange range) {
+    return new EpochTimeRange(epochDay * MINUTES_PER_DAY + range.start(), range.duration());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof EpochTimeRange && equals(this, (EpochTimeRange) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(start) ^ Long.hashCode(duration);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Range: [%d, %d)", start, start + duration);
+  }
+
+  private static boolean equals(EpochTimeRange a, EpochTimeRange b) {
+    return a.start == b.start && a.duration == b.duration;
+  }
+
+  /**
+   * Creates an {@code EpochTimeRange} from {@code start} to {@code end}. Whether or not
+   * {@code end} is included in the range will depend on {@code inclusive}.
+   */
+  public static EpochTimeRange fromStartEnd(long start, long end, boolean inclusive) {
+    return inclusive
+        ? new EpochTimeRange(start, end - start + 1)
+        : new EpochTimeRange(start, end - start);
+  }
+
+  /**
+   * Create an {@code EpochTimeRange} starting at {@code start} with a duration equal to
+   * {@code duration}.
+   */
+  public static EpochTimeRange fromStartDuration(long start, long duration) {
+    return new EpochTimeRange(start, duration);
+  }
+}
@@ -14,10 +14,12 @@
 
 package com.google.sps;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Event is the container class for when a specific group of people are meeting and are therefore
@@ -26,7 +28,8 @@ import java.util.Set;
 public final class Event {
   private final String title;
   private final TimeRange when;
-  private final Set<String> attendees = new HashSet<>();
+  // Attendee names, sorted and without duplicates.
+  private final String[] attendees;
 
   /**
    * Creates a new event.
@@ -50,7 +53,7 @@ public final class Event {
 
     this.title = title;
     this.when = when;
-    this.attendees.addAll(attendees);
+    this.attendees = new TreeSet<>(attendees).toArray(new String[0]);
   }
 
   /**
@@ -71,9 +74,45 @@ public final class Event {
    * Returns a read-only set of required attendees for this event.
    */
   public Set<String> getAttendees() {
-    // Return the attendees as an unmodifiable set so that the caller can't change our
-    // internal data.
-    return Collections.unmodifiableSet(attendees);
+    // Return a read-only view so that the caller can't change our internal data.
+    return new AbstractSet<String>() {
+      @Override
+      public boolean contains(Object other) {
+        return other instanceof String && Arrays.binarySearch(attendees, other) >= 0;
+      }
+
+      @Override
+      public Iterator<String> iterator() {
+        return Arrays.asList(attendees).iterator();
+      }
+
+      @Override
+      public int size() {
+        return attendees.length;
+      }
+    };
+  }
+
+  /**
+   * Returns true if this event and {@code other} have at least one attendee in common.
+   */
+  public boolean sharesAttendeesWith(Event other) {
+    // Both name arrays are sorted, so walk them together like a merge.
+    String[] mine = attendees;
+    String[] theirs = other.attendees;
+    int i = 0;
+    int j = 0;
+    while (i < mine.length && j < theirs.length) {
+      int order = mine[i].compareTo(theirs[j]);
+      if (order == 0) {
+        return true;
+      } else if (order < 0) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -89,8 +128,9 @@ public final class Event {
   }
 
   private static boolean equals(Event a, Event b) {
-    // {@code attendees} must be a set for equals to work as expected. According to the {@code Set}
-    // interface documentation, equals will check for set-equality across all set implementations.
-    return a.title.equals(b.title) && a.when.equals(b.when) && a.attendees.equals(b.attendees);
+    // {@code attendees} is sorted and has no duplicates, so comparing the arrays element by element
+    // checks for set-equality.
+    return a.title.equals(b.title) && a.when.equals(b.when)
+        && Arrays.equals(a.attendees, b.attendees);
   }
 }
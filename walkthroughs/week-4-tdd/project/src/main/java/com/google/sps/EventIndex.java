@@ -0,0 +1,207 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventIndex maps every attendee to the {@code TimeRange}s of the events they attend, sorted by
+ * start time. It is built once from a collection of events so that a query only has to look at
+ * the calendars of the people it asks about. Indexes are considered read-only.
+ *
+ * <p>Changes produce a new index through {@link #withEvent(Event)} and
+ * {@link #withoutEvent(Event)}. Every index carries a version, so caches of query answers can tell
+ * when they went stale. Versions are unique across all indexes.
+ *
+ * <p>Besides the raw ranges, every attendee's calendar is also kept normalised into disjoint busy
+ * intervals (see {@link #getBusy(String)}). The normalisation is done when events are added or
+ * removed, so queries can merge calendars without sorting them again. Bitmask versions of the
+ * busy intervals are built the first time a query asks for them and carried over to later indexes
+ * until the attendee's calendar changes.
+ */
+public final class EventIndex {
+  private static final AtomicLong VERSIONS = new AtomicLong();
+
+  private final Map<String, List<TimeRange>> rangesByAttendee = new HashMap<>();
+  private final Map<String, List<TimeRange>> busyByAttendee = new HashMap<>();
+  // Masks of {@code busyByAttendee}, by attendee and then granularity. Filled on first use.
+  private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, AvailabilityMask>>
+      masksByAttendee;
+  private final long version;
+
+  /**
+   * Creates an index over {@code events}.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public EventIndex(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty collection instead.");
+    }
+
+    this.version = VERSIONS.incrementAndGet();
+    this.masksByAttendee = new ConcurrentHashMap<>();
+
+    for (Event event : events) {
+      for (String attendee : event.getAttendees()) {
+        rangesByAttendee.computeIfAbsent(attendee, key -> new ArrayList<>()).add(event.getWhen());
+      }
+    }
+
+    for (Map.Entry<String, List<TimeRange>> entry : rangesByAttendee.entrySet()) {
+      List<TimeRange> ranges = entry.getValue();
+      Collections.sort(ranges, TimeRange.ORDER_BY_START);
+      entry.setValue(Collections.unmodifiableList(ranges));
+      busyByAttendee.put(entry.getKey(), normalise(ranges));
+    }
+  }
+
+  private EventIndex(Map<String, List<TimeRange>> rangesByAttendee,
+      Map<String, List<TimeRange>> busyByAttendee,
+      ConcurrentHashMap<String, ConcurrentHashMap<Integer, AvailabilityMask>> masksByAttendee,
+      long version) {
+    this.rangesByAttendee.putAll(rangesByAttendee);
+    this.busyByAttendee.putAll(busyByAttendee);
+    this.masksByAttendee = masksByAttendee;
+    this.version = version;
+  }
+
+  /**
+   * Creates an index over {@code events}.
+   */
+  public static EventIndex of(Event... events) {
+    return new EventIndex(Arrays.asList(events));
+  }
+
+  /**
+   * Returns a read-only list of the ranges {@code attendee} is busy, sorted by start time. Unknown
+   * attendees have an empty calendar.
+   */
+  public List<TimeRange> getRanges(String attendee) {
+    return rangesByAttendee.getOrDefault(attendee, Collections.emptyList());
+  }
+
+  /**
+   * Returns the disjoint intervals, in ascending order, during which {@code attendee} is busy. The
+   * list is read-only and was built when the calendar last changed.
+   */
+  public List<TimeRange> getBusy(String attendee) {
+    return busyByAttendee.getOrDefault(attendee, Collections.emptyList());
+  }
+
+  /**
+   * Returns {@link #getBusy(String)} as a mask of the given granularity, or null if
+   * {@code attendee} is never busy. The mask is built on the first call and shared afterwards, so
+   * callers must not modify it.
+   */
+  AvailabilityMask getMask(String attendee, int granularity) {
+    List<TimeRange> busy = busyByAttendee.get(attendee);
+    if (busy == null) {
+      // Only attendees with a calendar get masks, so names from requests are never cached.
+      return null;
+    }
+    return masksByAttendee.computeIfAbsent(attendee, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(granularity, key -> AvailabilityMask.fromRanges(busy, key));
+  }
+
+  /**
+   * Returns a read-only set of everyone who attends at least one indexed event.
+   */
+  public Set<String> getAttendees() {
+    return Collections.unmodifiableSet(rangesByAttendee.keySet());
+  }
+
+  /**
+   * Returns the version of this index. Every change produces an index with a new version.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns a copy of this index that also contains {@code event}. Calendars of people who do not
+   * attend the event are shared with this index, not copied.
+   */
+  public EventIndex withEvent(Event event) {
+    Map<String, List<TimeRange>> ranges = new HashMap<>(rangesByAttendee);
+    Map<String, List<TimeRange>> busy = new HashMap<>(busyByAttendee);
+    ConcurrentHashMap<String, ConcurrentHashMap<Integer, AvailabilityMask>> masks =
+        new ConcurrentHashMap<>(masksByAttendee);
+
+    for (String attendee : event.getAttendees()) {
+      List<TimeRange> updated = new ArrayList<>(getRanges(attendee));
+      updated.add(insertionPoint(updated, event.getWhen()), event.getWhen());
+      ranges.put(attendee, Collections.unmodifiableList(updated));
+      busy.put(attendee, normalise(updated));
+      masks.remove(attendee);
+    }
+    return new EventIndex(ranges, busy, masks, VERSIONS.incrementAndGet());
+  }
+
+  /**
+   * Returns a copy of this index without {@code event}. Calendars of people who do not attend the
+   * event are shared with this index, not copied.
+   */
+  public EventIndex withoutEvent(Event event) {
+    Map<String, List<TimeRange>> ranges = new HashMap<>(rangesByAttendee);
+    Map<String, List<TimeRange>> busy = new HashMap<>(busyByAttendee);
+    ConcurrentHashMap<String, ConcurrentHashMap<Integer, AvailabilityMask>> masks =
+        new ConcurrentHashMap<>(masksByAttendee);
+
+    for (String attendee : event.getAttendees()) {
+      List<TimeRange> updated = new ArrayList<>(getRanges(attendee));
+      if (!updated.remove(event.getWhen())) {
+        continue;
+      }
+      if (updated.isEmpty()) {
+        ranges.remove(attendee);
+        busy.remove(attendee);
+      } else {
+        ranges.put(attendee, Collections.unmodifiableList(updated));
+        busy.put(attendee, normalise(updated));
+      }
+      masks.remove(attendee);
+    }
+    return new EventIndex(ranges, busy, masks, VERSIONS.incrementAndGet());
+  }
+
+  private static List<TimeRange> normalise(List<TimeRange> sorted) {
+    return Collections.unmodifiableList(SweepLineMerger.mergeSorted(sorted));
+  }
+
+  /** Returns the index after the last range in {@code sorted} starting no later than range. */
+  private static int insertionPoint(List<TimeRange> sorted, TimeRange range) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted.get(mid).start() <= range.start()) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A static, augmented interval tree over events keyed on their {@code TimeRange}.
+ *
+ * <p>The events are sorted by start time and the tree is implicit in that array: the root of any
+ * index range {@code [low, high)} is its midpoint. Every node also remembers the latest end time
+ * in its subtree, so whole subtrees that finish before a query range can be skipped. Finding all
+ * events overlapping a range therefore takes O(log n + k) for k results. Trees are considered
+ * read-only.
+ */
+public final class EventIntervalTree {
+  private static final Comparator<Event> ORDER_BY_START =
+      Comparator.comparing(Event::getWhen, TimeRange.ORDER_BY_START);
+
+  private final Event[] events;
+  private final int[] maxEnd;
+
+  /**
+   * Builds a tree over {@code events}.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public EventIntervalTree(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty collection instead.");
+    }
+
+    this.events = events.toArray(new Event[0]);
+    Arrays.sort(this.events, ORDER_BY_START);
+    this.maxEnd = new int[this.events.length];
+    computeMaxEnd(0, this.events.length);
+  }
+
+  /**
+   * Returns the number of events in the tree.
+   */
+  public int size() {
+    return events.length;
+  }
+
+  /**
+   * Returns every event whose time overlaps {@code range}, as defined by
+   * {@link TimeRange#overlaps(TimeRange)}, sorted by start time.
+   */
+  public List<Event> overlapping(TimeRange range) {
+    List<Event> result = new ArrayList<>();
+    collect(0, events.length, range, result);
+    return result;
+  }
+
+  /** Fills in {@code maxEnd} for the subtree over {@code [low, high)} and returns its value. */
+  private int computeMaxEnd(int low, int high) {
+    if (low >= high) {
+      return Integer.MIN_VALUE;
+    }
+    int mid = (low + high) >>> 1;
+    int end = events[mid].getWhen().end();
+    end = Math.max(end, computeMaxEnd(low, mid));
+    end = Math.max(end, computeMaxEnd(mid + 1, high));
+    maxEnd[mid] = end;
+    return end;
+  }
+
+  private void collect(int low, int high, TimeRange range, List<Event> result) {
+    if (low >= high) {
+      return;
+    }
+    int mid = (low + high) >>> 1;
+    // Nothing in this subtree reaches the query. An empty range exactly at the query start can
+    // still overlap, so only skip subtrees that end strictly before it.
+    if (maxEnd[mid] < range.start()) {
+      return;
+    }
+
+    collect(low, mid, range, result);
+
+    TimeRange when = events[mid].getWhen();
+    if (when.overlaps(range)) {
+      result.add(events[mid]);
+    }
+
+    // Everything to the right starts no earlier than this node, so stop once past the query.
+    if (when.start() <= range.end()) {
+      collect(mid + 1, high, range, result);
+    }
+  }
+}
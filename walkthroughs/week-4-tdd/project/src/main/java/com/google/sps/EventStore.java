@@ -0,0 +1,169 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the live set of events. Readers take an immutable {@link Snapshot} without any locking and
+ * can query it for as long as they like; writers copy the current snapshot, apply their change and
+ * publish the result as a new version in one atomic step. Queries therefore never block on, or
+ * see half of, a write. Writers are serialised among themselves so that no change is lost.
+ *
+ * <p>The store gives every attendee of a stored event an id in a dictionary of its own and keeps
+ * each event's attendees as a sorted {@code int[]} of those ids, so filtering stored events by
+ * attendee does not hash any strings. Names from requests are only looked up, never interned, so
+ * the dictionary grows with the stored calendars and nothing else.
+ */
+public final class EventStore {
+  private final AttendeeDictionary dictionary = new AttendeeDictionary();
+  private final AtomicReference<Snapshot> current;
+  private final Object writeLock = new Object();
+
+  /**
+   * Creates a store holding {@code events}. Must be non-null.
+   */
+  public EventStore(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty collection instead.");
+    }
+    List<Event> copy = new ArrayList<>(events);
+    List<int[]> attendeeIds = new ArrayList<>(copy.size());
+    for (Event event : copy) {
+      attendeeIds.add(dictionary.internAll(event.getAttendees()));
+    }
+    this.current = new AtomicReference<>(
+        new Snapshot(copy, attendeeIds, new EventIndex(copy), dictionary));
+  }
+
+  /**
+   * Returns the current snapshot. Never blocks.
+   */
+  public Snapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Adds {@code event} and returns the snapshot that includes it.
+   */
+  public Snapshot add(Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    synchronized (writeLock) {
+      Snapshot before = current.get();
+      List<Event> events = new ArrayList<>(before.events.size() + 1);
+      events.addAll(before.events);
+      events.add(event);
+      List<int[]> attendeeIds = new ArrayList<>(events.size());
+      attendeeIds.addAll(before.attendeeIds);
+      attendeeIds.add(dictionary.internAll(event.getAttendees()));
+      Snapshot after =
+          new Snapshot(events, attendeeIds, before.index.withEvent(event), dictionary);
+      current.set(after);
+      return after;
+    }
+  }
+
+  /**
+   * Removes one event equal to {@code event}, if there is one, and returns the resulting snapshot.
+   * If nothing was removed the current snapshot is returned unchanged.
+   */
+  public Snapshot remove(Event event) {
+    synchronized (writeLock) {
+      Snapshot before = current.get();
+      int position = before.events.indexOf(event);
+      if (position < 0) {
+        return before;
+      }
+      List<Event> events = new ArrayList<>(before.events);
+      events.remove(position);
+      List<int[]> attendeeIds = new ArrayList<>(before.attendeeIds);
+      attendeeIds.remove(position);
+      Snapshot after =
+          new Snapshot(events, attendeeIds, before.index.withoutEvent(event), dictionary);
+      current.set(after);
+      return after;
+    }
+  }
+
+  /**
+   * An immutable view of the store at one version: the events and an index over them.
+   */
+  public static final class Snapshot {
+    private final List<Event> events;
+    // The sorted attendee ids of every event, in the same order as {@code events}.
+    private final List<int[]> attendeeIds;
+    private final EventIndex index;
+    private final AttendeeDictionary dictionary;
+
+    private Snapshot(List<Event> events, List<int[]> attendeeIds, EventIndex index,
+        AttendeeDictionary dictionary) {
+      this.events = Collections.unmodifiableList(events);
+      this.attendeeIds = attendeeIds;
+      this.index = index;
+      this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns the version of this snapshot, which is the version of its index. Every write
+     * produces a higher one.
+     */
+    public long getVersion() {
+      return index.getVersion();
+    }
+
+    /**
+     * Returns a read-only list of the events, in the order they were added.
+     */
+    public List<Event> getEvents() {
+      return events;
+    }
+
+    /**
+     * Returns the index over {@link #getEvents()}.
+     */
+    public EventIndex getIndex() {
+      return index;
+    }
+
+    /**
+     * Returns a bitset with the ids of those of {@code names} who attend a stored event. Only
+     * looks names up, so the store's dictionary never grows.
+     */
+    public BitSet idsOf(Collection<String> names) {
+      return dictionary.toBitSet(names);
+    }
+
+    /**
+     * Returns true if any attendee of the event at {@code position} in {@link #getEvents()} has
+     * their id set in {@code ids}, as returned by {@link #idsOf(Collection)}. Does not allocate.
+     */
+    public boolean isAttendedByAnyOf(int position, BitSet ids) {
+      for (int id : attendeeIds.get(position)) {
+        if (ids.get(id)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
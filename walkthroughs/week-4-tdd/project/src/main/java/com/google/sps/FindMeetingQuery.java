@@ -14,22 +14,61 @@
 
 package com.google.sps;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 public final class FindMeetingQuery {
+  /** Requests with at least this many attendees are merged in parallel by default. */
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
 
-  /** Returns true if {@event} is not attended by any attendees in the meeting request */
-  private Boolean hasNoCommonAttendees(Event event, MeetingRequest meeting) {
-    Collection<String> eventAttendees = event.getAttendees();
-    Collection<String> requiredAttendees = meeting.getAttendees();
-    return Collections.disjoint(eventAttendees, requiredAttendees);
+  private static final AvailabilityEngine DEFAULT_ENGINE = new KWayMergeEngine();
+  // The fewest attendees, or events, worth merging in a fork-join task of their own.
+  private static final int MIN_ATTENDEES_PER_TASK = 64;
+  private static final int MIN_EVENTS_PER_TASK = 4096;
+  // Buffers reused by every allocation-free query on the same thread.
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  /**
+   * Creates a query that merges requests with at least {@link #DEFAULT_PARALLEL_THRESHOLD}
+   * attendees on the common pool.
+   */
+  public FindMeetingQuery() {
+    this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Creates a query that merges the calendars of requests with at least {@code parallelThreshold}
+   * attendees in chunks on {@code pool}. Smaller requests stay on the calling thread.
+   *
+   * @param pool The pool that runs parallel merges. Must be non-null.
+   * @param parallelThreshold The smallest attendee count merged in parallel. Must be positive.
+   */
+  public FindMeetingQuery(ForkJoinPool pool, int parallelThreshold) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+
+    if (parallelThreshold <= 0) {
+      throw new IllegalArgumentException("parallelThreshold must be positive");
+    }
+
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
   }
 
-  /** Returns true if available duration in {@vacantSlot} is less than requested duration */
-  private Boolean isSlotInsufficient(TimeRange vacantSlot, MeetingRequest meeting) {
-    return vacantSlot.duration() < meeting.getDuration();
+  /** Returns true if {@code attendees} are too many to merge on one thread. */
+  private boolean isParallel(Collection<String> attendees) {
+    return attendees.size() >= parallelThreshold;
   }
 
   /** Returns true if {@requeste} has no attendees */
@@ -42,63 +81,90 @@ public final class FindMeetingQuery {
     return request.getDuration() > TimeRange.END_OF_DAY || request.getDuration() < 0;
   }
 
-  private void sortTimeRangeByStart(List<TimeRange> list) {
-    Collections.sort(list, TimeRange.ORDER_BY_START);
-  }
+  public Collection<TimeRange> query(Collection<Event> eventsSource, MeetingRequest request) {
+
+    if (hasNoAttendees(request)) {
+      return Collections.singletonList(TimeRange.WHOLE_DAY);
+    }
+    if (isDurationInvalid(request)) {
+      return Collections.emptyList();
+    }
 
-  /** Returns a List {@queue} with start/end-bounding TimeRange objects */
-  private List<TimeRange> createInitializedOccupiedQueue() {
-    List<TimeRange> queue = new ArrayList<TimeRange>();
-    queue.add(TimeRange.fromStartDuration(TimeRange.START_OF_DAY, 0));
-    queue.add(TimeRange.fromStartDuration(TimeRange.END_OF_DAY + 1, 0));
-    return queue;
+    Collection<String> attendees = request.getAttendees();
+    List<TimeRange> merged;
+    if (isParallel(attendees)) {
+      List<Event> events = eventsSource instanceof List
+          ? (List<Event>) eventsSource
+          : new ArrayList<>(eventsSource);
+      merged = ParallelBusyUnion.union(
+          pool, events, MIN_EVENTS_PER_TASK, chunk -> mergeAttended(chunk, attendees));
+    } else {
+      merged = mergeAttended(eventsSource, attendees);
+    }
+    return SweepLineMerger.vacantSlots(merged, request.getDuration());
   }
 
   /**
-   * Function that updates an TimeRange object at index {@currentSlotIdx} with an 
-   * updated duration if there are TimeRange objects chaining/within the current object.
-   * 03:00 |    B  06:00 |              03:00          07:00
-   * |      A      |   07:00        ->    |      A      |
-   * @param queue List of TimeRange objects, sorted by start time.
-   * @param currentSlotIdx Index of element to be modified in {@queue}
+   * Collects the busy ranges of the events any of {@code attendees} attend, then sorts once and
+   * sweeps.
    */
-  private void combineTimeRange(List<TimeRange> queue, int currentSlotIdx) {
-    int adjSlotIdx = currentSlotIdx + 1;
-    TimeRange currentSlot = queue.get(currentSlotIdx);
-    TimeRange adjSlot = queue.get(adjSlotIdx);
-
-    // start combining adjacent/containing events with regards to current event
-    while (currentSlot.overlaps(adjSlot)) {
-      int curSlotStart = currentSlot.start();
-      int adjSlotEnd = adjSlot.end();
-      // Combine events if it is a chained event.
-      if (!currentSlot.contains(adjSlotEnd)) {
-        TimeRange combinedSlot = TimeRange.fromStartEnd(
-          curSlotStart, adjSlotEnd, false);
-          queue.set(currentSlotIdx, combinedSlot);
+  private static List<TimeRange> mergeAttended(
+      Collection<Event> events, Collection<String> attendees) {
+    List<TimeRange> occupied = new ArrayList<>();
+    for (Event event : events) {
+      if (!Collections.disjoint(event.getAttendees(), attendees)) {
+        occupied.add(event.getWhen());
       }
-      // Get next slot in line if available
-      queue.remove(adjSlotIdx);
-      if(adjSlotIdx == queue.size()) break;
-      else adjSlot = queue.get(adjSlotIdx);
     }
+    return SweepLineMerger.sortAndMerge(occupied);
   }
 
+  /**
+   * Same as {@link #query(Collection, MeetingRequest)} for the events of {@code snapshot}. The
+   * requested names are looked up once in the store's dictionary, and each event is then filtered
+   * by testing its attendee ids against a bitset, without hashing any strings.
+   */
+  public Collection<TimeRange> query(EventStore.Snapshot snapshot, MeetingRequest request) {
+    if (hasNoAttendees(request)) {
+      return Collections.singletonList(TimeRange.WHOLE_DAY);
+    }
+    if (isDurationInvalid(request)) {
+      return Collections.emptyList();
+    }
+
+    BitSet ids = snapshot.idsOf(request.getAttendees());
+    List<Event> events = snapshot.getEvents();
+    List<TimeRange> occupied = new ArrayList<>();
+    for (int i = 0; i < events.size(); i++) {
+      if (snapshot.isAttendedByAnyOf(i, ids)) {
+        occupied.add(events.get(i).getWhen());
+      }
+    }
+    return SweepLineMerger.vacantSlots(
+        SweepLineMerger.sortAndMerge(occupied), request.getDuration());
+  }
 
   /**
-   * Creates a vacant slot based on the provided index of the unavailable timeslot.
-   * 
-   * // |OE1|   <vacantEvent here>   |OE2|
-   * @param occupiedQueue Combined list of TimeRange with TimeRange that is unavailable
-   * @param slotIdx Index of TimeRange Object in front of the VacantSlot in {@occupiedQueue}
+   * Same as {@link #query(Collection, MeetingRequest)}, but only reads the calendars of the
+   * requested attendees from {@code index} instead of scanning every event.
    */
-  private TimeRange createVacantSlot(List<TimeRange> occupiedQueue, int slotIdx) {
-    TimeRange occupiedSlot1 = occupiedQueue.get(slotIdx);
-    TimeRange occupiedSlot2 = occupiedQueue.get(slotIdx + 1);
-    return TimeRange.fromStartEnd(occupiedSlot1.end(), occupiedSlot2.start(), false);
+  public Collection<TimeRange> query(EventIndex index, MeetingRequest request) {
+    if (!isParallel(request.getAttendees())) {
+      return query(index, request, DEFAULT_ENGINE);
+    }
+    if (isDurationInvalid(request)) {
+      return Collections.emptyList();
+    }
+    return SweepLineMerger.vacantSlots(
+        mergedBusy(index, request.getAttendees()), request.getDuration());
   }
 
-  public Collection<TimeRange> query(Collection<Event> eventsSource, MeetingRequest request) {
+  /**
+   * Same as {@link #query(EventIndex, MeetingRequest)}, but lets the caller pick the
+   * {@code AvailabilityEngine} that combines the attendees' calendars.
+   */
+  public Collection<TimeRange> query(
+      EventIndex index, MeetingRequest request, AvailabilityEngine engine) {
 
     if (hasNoAttendees(request)) {
       return Collections.singletonList(TimeRange.WHOLE_DAY);
@@ -107,31 +173,253 @@ public final class FindMeetingQuery {
       return Collections.emptyList();
     }
 
-    List<TimeRange> vacantSlots= new ArrayList<TimeRange>();
-    List<TimeRange> occupiedQueue = createInitializedOccupiedQueue();
-    // Duplicate events list to support removal of events
-    List<Event> events = new ArrayList<>(eventsSource);
+    return engine.findVacantSlots(index, request.getAttendees(), request.getDuration());
+  }
 
-    events.removeIf(event -> hasNoCommonAttendees(event, request));
+  /**
+   * Returns the vacant slots for {@code request} that start at or after minute {@code after}, in
+   * start order. Slots that begin earlier are cut to start at {@code after} and are only returned
+   * if they are still long enough. The slots are found one at a time as the iterator is read, so
+   * stopping early saves merging the rest of the day.
+   */
+  public Iterator<TimeRange> vacantSlots(EventIndex index, MeetingRequest request, int after) {
+    if (isDurationInvalid(request)) {
+      return Collections.emptyIterator();
+    }
 
-    // Create entry timeslots for the events
-    for (Event event: events) {
-      occupiedQueue.add(event.getWhen());
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>();
+    for (String attendee : request.getAttendees()) {
+      busyByAttendee.add(index.getBusy(attendee));
     }
+    return new VacantSlotIterator(busyByAttendee, request.getDuration(), after);
+  }
 
-    sortTimeRangeByStart(occupiedQueue);
+  /**
+   * Returns at most {@code limit} of the slots from
+   * {@link #vacantSlots(EventIndex, MeetingRequest, int)}, stopping as soon as it has them.
+   */
+  public List<TimeRange> query(EventIndex index, MeetingRequest request, int after, int limit) {
+    List<TimeRange> slots = new ArrayList<>();
+    Iterator<TimeRange> iterator = vacantSlots(index, request, after);
+    while (slots.size() < limit && iterator.hasNext()) {
+      slots.add(iterator.next());
+    }
+    return slots;
+  }
 
-    // Combine unavailable timeslots so that no two timeslots are connecting
-    for (int i = 0; i < occupiedQueue.size() - 1; i++) {
-      combineTimeRange(occupiedQueue, i);
+  /**
+   * Applies the same {@code after} and {@code limit} as
+   * {@link #query(EventIndex, MeetingRequest, int, int)} to slots that have already been found.
+   */
+  public static List<TimeRange> firstSlots(
+      Collection<TimeRange> slots, long duration, int after, int limit) {
+    List<TimeRange> result = new ArrayList<>();
+    for (TimeRange slot : slots) {
+      if (result.size() >= limit) {
+        break;
+      }
+      int start = Math.max(slot.start(), after);
+      if (slot.end() - start >= duration && slot.end() > start) {
+        result.add(start == slot.start() ? slot : TimeRange.fromStartEnd(start, slot.end(), false));
+      }
     }
-  
-    // Create vacant timeslots according to gaps in unavailable timeslots
-    for (int i = 0; i < occupiedQueue.size() - 1; i++) {
-      vacantSlots.add(createVacantSlot(occupiedQueue, i));
+    return result;
+  }
+
+  /**
+   * Returns the vacant slots of at least {@code duration} minutes around the ranges in
+   * {@code busy}, without creating a {@code TimeRange} per busy range. {@code busy} is sorted and
+   * merged in place. The result is a read-only view that creates slots only as they are read.
+   */
+  public Collection<TimeRange> query(TimeRangeColumns busy, long duration) {
+    if (duration > TimeRange.END_OF_DAY || duration < 0) {
+      return Collections.emptyList();
     }
+    return vacantSlots(busy, duration);
+  }
+
+  static List<TimeRange> vacantSlots(TimeRangeColumns busy, long minDuration) {
+    busy.sort();
+    busy.mergeSorted();
+    TimeRangeColumns vacant = new TimeRangeColumns(busy.size() + 1);
+    busy.vacantSlots(minDuration, vacant);
+    return vacant.asList();
+  }
 
-    vacantSlots.removeIf(timeSlot -> isSlotInsufficient(timeSlot, request));
+  /**
+   * Allocation-free form of {@link #query(EventIndex, MeetingRequest)} for the mandatory
+   * {@code attendees}: clears {@code out} and fills it with the vacant slots of at least
+   * {@code duration} minutes, in ascending order. The calendars are merged in buffers kept per
+   * thread and reused across calls, so once those and {@code out} are big enough a query creates
+   * no objects at all. Pass the attendees as a {@code RandomAccess} list, such as an
+   * {@code ArrayList}, to avoid even an iterator.
+   */
+  public void query(
+      EventIndex index, Collection<String> attendees, long duration, TimeRangeColumns out) {
+    out.clear();
+    if (attendees.isEmpty()) {
+      out.add(TimeRange.WHOLE_DAY.start(), TimeRange.WHOLE_DAY.end());
+      return;
+    }
+    if (duration > TimeRange.END_OF_DAY || duration < 0) {
+      return;
+    }
+
+    Scratch scratch = SCRATCH.get();
+    List<List<TimeRange>> calendars = scratch.calendars;
+    if (attendees instanceof List && attendees instanceof RandomAccess) {
+      List<String> list = (List<String>) attendees;
+      for (int i = 0; i < list.size(); i++) {
+        calendars.add(index.getBusy(list.get(i)));
+      }
+    } else {
+      for (String attendee : attendees) {
+        calendars.add(index.getBusy(attendee));
+      }
+    }
+
+    try {
+      scratch.busy.clear();
+      KWayMergeEngine.unionInto(calendars, scratch.heap, scratch.busy);
+      scratch.busy.vacantSlots(duration, out);
+    } finally {
+      // Do not keep old calendars reachable from the thread.
+      calendars.clear();
+      scratch.heap.clear();
+    }
+  }
+
+  /**
+   * Returns the disjoint intervals, in ascending order, during which at least one of
+   * {@code attendees} is busy.
+   */
+  public List<TimeRange> mergedBusy(EventIndex index, Collection<String> attendees) {
+    if (isParallel(attendees)) {
+      return ParallelBusyUnion.union(pool, new ArrayList<>(attendees), MIN_ATTENDEES_PER_TASK,
+          chunk -> mergeSequentially(index, chunk));
+    }
+    return mergeSequentially(index, attendees);
+  }
+
+  private List<TimeRange> mergeSequentially(EventIndex index, Collection<String> attendees) {
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>(attendees.size());
+    for (String attendee : attendees) {
+      busyByAttendee.add(index.getBusy(attendee));
+    }
+    return KWayMergeEngine.union(busyByAttendee);
+  }
+
+  /**
+   * Returns the slots that fit every mandatory attendee and as many optional attendees as
+   * possible. If no optional attendee can make it, this is the same as
+   * {@link #query(EventIndex, MeetingRequest)}.
+   */
+  public Collection<TimeRange> queryWithOptionalAttendees(
+      EventIndex index, MeetingRequest request) {
+
+    if (isDurationInvalid(request)) {
+      return Collections.emptyList();
+    }
+
+    List<TimeRange> mandatoryBusy = mergedBusy(index, request.getAttendees());
+    List<TimeRange> mandatorySlots =
+        SweepLineMerger.vacantSlots(mandatoryBusy, request.getDuration());
+    if (mandatorySlots.isEmpty()) {
+      return mandatorySlots;
+    }
+
+    // Use a sorted map so that ties between equally large groups are broken the same way on
+    // every call.
+    Map<String, List<TimeRange>> optionalBusy = new TreeMap<>();
+    for (String attendee : request.getOptionalAttendees()) {
+      if (!request.getAttendees().contains(attendee)) {
+        optionalBusy.put(attendee, index.getBusy(attendee));
+      }
+    }
+    if (optionalBusy.isEmpty()) {
+      return mandatorySlots;
+    }
+
+    List<String> joining =
+        new OptionalAttendeeSolver().solve(mandatorySlots, optionalBusy, request.getDuration());
+    if (joining.isEmpty()) {
+      return mandatorySlots;
+    }
+
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>();
+    busyByAttendee.add(mandatoryBusy);
+    for (String attendee : joining) {
+      busyByAttendee.add(optionalBusy.get(attendee));
+    }
+    return DEFAULT_ENGINE.findVacantSlots(busyByAttendee, request.getDuration());
+  }
+
+  /**
+   * Returns the slots in which at least {@code quorum} of the requested attendees are free for at
+   * least the requested duration. Useful for large groups, which rarely have a slot that suits
+   * everyone. A quorum equal to the number of attendees gives the same slots as
+   * {@link #query(EventIndex, MeetingRequest)}; a larger one gives none.
+   *
+   * @param quorum How many attendees must be free. Must not be negative.
+   */
+  public List<TimeRange> queryQuorum(EventIndex index, MeetingRequest request, int quorum) {
+    if (quorum < 0) {
+      throw new IllegalArgumentException("quorum cannot be negative");
+    }
+    if (isDurationInvalid(request)) {
+      return Collections.emptyList();
+    }
+
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>();
+    for (String attendee : request.getAttendees()) {
+      busyByAttendee.add(index.getBusy(attendee));
+    }
+    return BusyHistogram.quorumSlots(busyByAttendee, quorum, request.getDuration());
+  }
+
+  /**
+   * Returns the slots within {@code window} in which every requested attendee is free for at least
+   * the requested duration. Unlike the single-day queries, the window and the returned slots may
+   * span any number of days.
+   */
+  public List<EpochTimeRange> queryHorizon(
+      HorizonIndex index, MeetingRequest request, EpochTimeRange window) {
+
+    if (hasNoAttendees(request)) {
+      return Collections.singletonList(window);
+    }
+    if (request.getDuration() < 0 || request.getDuration() > window.duration()) {
+      return Collections.emptyList();
+    }
+
+    List<EpochTimeRange> occupied = new ArrayList<>();
+    for (String attendee : request.getAttendees()) {
+      occupied.addAll(index.getBusy(attendee, window));
+    }
+    Collections.sort(occupied, EpochTimeRange.ORDER_BY_START);
+
+    // Sweep the busy ranges, emitting the gaps between them.
+    List<EpochTimeRange> vacantSlots = new ArrayList<>();
+    long cursor = window.start();
+    for (EpochTimeRange busy : occupied) {
+      addIfLongEnough(vacantSlots, cursor, busy.start(), request.getDuration());
+      cursor = Math.max(cursor, busy.end());
+    }
+    addIfLongEnough(vacantSlots, cursor, window.end(), request.getDuration());
     return vacantSlots;
   }
+
+  private static void addIfLongEnough(
+      List<EpochTimeRange> out, long start, long end, long minDuration) {
+    if (end > start && end - start >= minDuration) {
+      out.add(EpochTimeRange.fromStartEnd(start, end, false));
+    }
+  }
+
+  /** Per-thread buffers for {@link #query(EventIndex, Collection, long, TimeRangeColumns)}. */
+  private static final class Scratch {
+    final List<List<TimeRange>> calendars = new ArrayList<>();
+    final TimeRangeColumns busy = new TimeRangeColumns();
+    final CalendarHeap heap = new CalendarHeap(16);
+  }
 }
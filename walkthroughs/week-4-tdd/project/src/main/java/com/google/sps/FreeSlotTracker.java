@@ -0,0 +1,205 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the merged busy time and the vacant slots of a fixed group of attendees up to date while
+ * events are added and removed, without ever recomputing the whole day.
+ *
+ * <p>Busy blocks, vacant slots and the raw event ranges are held in balanced trees. Adding an event
+ * splices it into the busy blocks it touches; removing one rebuilds only the busy block it was
+ * part of. Either way only the vacant slots next to that block are rewritten, so an update costs
+ * O(log n) plus the size of the affected block. Trackers are not thread-safe.
+ */
+public final class FreeSlotTracker {
+  private final Set<String> group;
+  // Every relevant event range, packed as (start << 32 | end) and counted, so that identical
+  // events can be added and removed independently.
+  private final TreeMap<Long, Integer> rawRanges = new TreeMap<>();
+  // Disjoint, non-touching busy blocks: start -> exclusive end.
+  private final TreeMap<Integer, Integer> busy = new TreeMap<>();
+  // The gaps between the busy blocks within the day: start -> exclusive end.
+  private final TreeMap<Integer, Integer> vacant = new TreeMap<>();
+
+  /**
+   * Creates a tracker for {@code attendees} with an empty calendar.
+   *
+   * @param attendees The people whose shared free time is tracked. Must be non-null.
+   */
+  public FreeSlotTracker(Collection<String> attendees) {
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null");
+    }
+    this.group = new HashSet<>(attendees);
+    vacant.put(TimeRange.START_OF_DAY, SweepLineMerger.DAY_END);
+  }
+
+  /**
+   * Creates a tracker for {@code attendees} that already contains {@code events}.
+   */
+  public FreeSlotTracker(Collection<String> attendees, Collection<Event> events) {
+    this(attendees);
+    for (Event event : events) {
+      add(event);
+    }
+  }
+
+  /**
+   * Records {@code event}. Returns false if the event does not affect the group, i.e. none of the
+   * tracked attendees attend it or it takes no time within the day.
+   */
+  public boolean add(Event event) {
+    if (!isRelevant(event)) {
+      return false;
+    }
+    int start = SweepLineMerger.clampToDay(event.getWhen().start());
+    int end = SweepLineMerger.clampToDay(event.getWhen().end());
+    rawRanges.merge(TimeRangeColumns.pack(start, end), 1, Integer::sum);
+
+    // Absorb the block that reaches the new range from the left, then every block it covers.
+    Map.Entry<Integer, Integer> before = busy.floorEntry(start);
+    if (before != null && before.getValue() >= start) {
+      start = before.getKey();
+      end = Math.max(end, before.getValue());
+      busy.remove(before.getKey());
+    }
+    Map.Entry<Integer, Integer> next = busy.ceilingEntry(start);
+    while (next != null && next.getKey() <= end) {
+      end = Math.max(end, next.getValue());
+      busy.remove(next.getKey());
+      next = busy.ceilingEntry(start);
+    }
+    busy.put(start, end);
+
+    refreshVacant(start, end);
+    return true;
+  }
+
+  /**
+   * Forgets {@code event}, which must have been added before. Returns false if it was not being
+   * tracked.
+   */
+  public boolean remove(Event event) {
+    if (!isRelevant(event)) {
+      return false;
+    }
+    long key = TimeRangeColumns.pack(SweepLineMerger.clampToDay(event.getWhen().start()),
+        SweepLineMerger.clampToDay(event.getWhen().end()));
+    Integer count = rawRanges.get(key);
+    if (count == null) {
+      return false;
+    }
+    if (count == 1) {
+      rawRanges.remove(key);
+    } else {
+      rawRanges.put(key, count - 1);
+    }
+
+    // Rebuild only the block that contained the event from the ranges that start inside it.
+    Map.Entry<Integer, Integer> block = busy.floorEntry(TimeRangeColumns.unpackStart(key));
+    int blockStart = block.getKey();
+    int blockEnd = block.getValue();
+    busy.remove(blockStart);
+
+    int runStart = -1;
+    int runEnd = -1;
+    long from = TimeRangeColumns.pack(blockStart, 0);
+    long to = TimeRangeColumns.pack(blockEnd, 0);
+    for (long range : rawRanges.subMap(from, to).keySet()) {
+      int start = TimeRangeColumns.unpackStart(range);
+      int end = TimeRangeColumns.unpackEnd(range);
+      if (start > runEnd) {
+        if (runEnd >= 0) {
+          busy.put(runStart, runEnd);
+        }
+        runStart = start;
+        runEnd = end;
+      } else {
+        runEnd = Math.max(runEnd, end);
+      }
+    }
+    if (runEnd >= 0) {
+      busy.put(runStart, runEnd);
+    }
+
+    refreshVacant(blockStart, blockEnd);
+    return true;
+  }
+
+  /**
+   * Returns the disjoint busy intervals of the group, in ascending order.
+   */
+  public List<TimeRange> getBusy() {
+    return toRanges(busy, 0);
+  }
+
+  /**
+   * Returns every slot of at least {@code minDuration} minutes in which the whole group is free,
+   * in ascending order. This is what {@code FindMeetingQuery} would return for the same events.
+   */
+  public List<TimeRange> getVacantSlots(long minDuration) {
+    return toRanges(vacant, minDuration);
+  }
+
+  private boolean isRelevant(Event event) {
+    TimeRange when = event.getWhen();
+    return !Collections.disjoint(event.getAttendees(), group)
+        && SweepLineMerger.clampToDay(when.end()) > SweepLineMerger.clampToDay(when.start());
+  }
+
+  /**
+   * Rewrites the vacant slots around the busy blocks in {@code [low, high)}, which are the only
+   * ones that changed.
+   */
+  private void refreshVacant(int low, int high) {
+    Map.Entry<Integer, Integer> left = busy.lowerEntry(low);
+    Map.Entry<Integer, Integer> right = busy.ceilingEntry(high);
+    int from = left == null ? TimeRange.START_OF_DAY : left.getValue();
+    int to = right == null ? SweepLineMerger.DAY_END : right.getKey();
+
+    vacant.subMap(from, true, to, true).clear();
+    int cursor = from;
+    for (Map.Entry<Integer, Integer> block : busy.subMap(low, true, high, false).entrySet()) {
+      if (block.getKey() > cursor) {
+        vacant.put(cursor, block.getKey());
+      }
+      cursor = block.getValue();
+    }
+    if (to > cursor) {
+      vacant.put(cursor, to);
+    }
+  }
+
+  private static List<TimeRange> toRanges(NavigableMap<Integer, Integer> ranges, long minDuration) {
+    List<TimeRange> result = new ArrayList<>();
+    for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+      if (range.getValue() - range.getKey() >= minDuration) {
+        result.add(TimeRange.fromStartEnd(range.getKey(), range.getValue(), false));
+      }
+    }
+    return result;
+  }
+
+}
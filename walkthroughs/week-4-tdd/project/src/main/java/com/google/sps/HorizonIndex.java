@@ -0,0 +1,201 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HorizonIndex holds every attendee's busy time across many days as disjoint
+ * {@code EpochTimeRange}s, sorted by start time and packed into primitive arrays. Because the
+ * intervals are disjoint their ends are sorted too, so a query binary-searches straight to the
+ * window it is interested in and never looks at the rest of the calendar.
+ *
+ * <p>Recurring events are kept as rules and only expanded into occurrences for the window being
+ * queried. Indexes are considered read-only.
+ */
+public final class HorizonIndex {
+  private final Map<String, Timeline> timelines = new HashMap<>();
+  private final Map<String, List<RecurringEvent>> recurringByAttendee = new HashMap<>();
+  private final Set<String> attendees = new HashSet<>();
+
+  /**
+   * Creates an index from each attendee's busy ranges.
+   *
+   * @param busyByAttendee The ranges each attendee is busy, in any order and possibly
+   *     overlapping. Must be non-null.
+   */
+  public HorizonIndex(Map<String, ? extends Collection<EpochTimeRange>> busyByAttendee) {
+    this(busyByAttendee, Collections.emptyList());
+  }
+
+  /**
+   * Creates an index from each attendee's one-off busy ranges and from recurring events.
+   *
+   * @param busyByAttendee The ranges each attendee is busy, in any order and possibly
+   *     overlapping. Must be non-null.
+   * @param recurringEvents Events that repeat. Must be non-null.
+   */
+  public HorizonIndex(Map<String, ? extends Collection<EpochTimeRange>> busyByAttendee,
+      Collection<RecurringEvent> recurringEvents) {
+    if (busyByAttendee == null) {
+      throw new IllegalArgumentException("busyByAttendee cannot be null. Use empty map instead.");
+    }
+
+    if (recurringEvents == null) {
+      throw new IllegalArgumentException(
+          "recurringEvents cannot be null. Use empty collection instead.");
+    }
+
+    for (Map.Entry<String, ? extends Collection<EpochTimeRange>> entry :
+        busyByAttendee.entrySet()) {
+      timelines.put(entry.getKey(), new Timeline(entry.getValue()));
+    }
+    for (RecurringEvent recurring : recurringEvents) {
+      for (String attendee : recurring.getEvent().getAttendees()) {
+        recurringByAttendee.computeIfAbsent(attendee, key -> new ArrayList<>()).add(recurring);
+      }
+    }
+    attendees.addAll(timelines.keySet());
+    attendees.addAll(recurringByAttendee.keySet());
+  }
+
+  /**
+   * Creates an index from single-day {@code Event}s, keyed by the day (days since 1970-01-01) on
+   * which they take place.
+   */
+  public static HorizonIndex fromDailyEvents(Map<Long, ? extends Collection<Event>> eventsByDay) {
+    return fromDailyEvents(eventsByDay, Collections.emptyList());
+  }
+
+  /**
+   * Creates an index from single-day {@code Event}s, keyed by day, and from recurring events.
+   */
+  public static HorizonIndex fromDailyEvents(Map<Long, ? extends Collection<Event>> eventsByDay,
+      Collection<RecurringEvent> recurringEvents) {
+    Map<String, List<EpochTimeRange>> busyByAttendee = new HashMap<>();
+    for (Map.Entry<Long, ? extends Collection<Event>> day : eventsByDay.entrySet()) {
+      for (Event event : day.getValue()) {
+        EpochTimeRange when = EpochTimeRange.onDay(day.getKey(), event.getWhen());
+        for (String attendee : event.getAttendees()) {
+          busyByAttendee.computeIfAbsent(attendee, key -> new ArrayList<>()).add(when);
+        }
+      }
+    }
+    return new HorizonIndex(busyByAttendee, recurringEvents);
+  }
+
+  /**
+   * Returns a read-only set of everyone who is busy at least once.
+   */
+  public Set<String> getAttendees() {
+    return Collections.unmodifiableSet(attendees);
+  }
+
+  /**
+   * Returns the disjoint intervals, in ascending order, during which {@code attendee} is busy
+   * within {@code window}. Intervals are clipped to the window.
+   */
+  public List<EpochTimeRange> getBusy(String attendee, EpochTimeRange window) {
+    Timeline timeline = timelines.get(attendee);
+    List<EpochTimeRange> oneOff =
+        timeline == null ? Collections.emptyList() : timeline.within(window);
+    List<RecurringEvent> recurring = recurringByAttendee.get(attendee);
+    if (recurring == null) {
+      return oneOff;
+    }
+
+    // Expand only the occurrences inside the window, then merge them with the one-off ranges.
+    List<EpochTimeRange> busy = new ArrayList<>(oneOff);
+    for (RecurringEvent event : recurring) {
+      busy.addAll(event.occurrencesWithin(window));
+    }
+    return sortAndMerge(busy);
+  }
+
+  /**
+   * Sorts {@code ranges} by start time in place and merges ranges that overlap or touch into a new
+   * list of disjoint intervals, like {@link SweepLineMerger#sortAndMerge(List)} does within a day.
+   * Ranges without a duration do not make anyone busy and are skipped.
+   */
+  static List<EpochTimeRange> sortAndMerge(List<EpochTimeRange> ranges) {
+    Collections.sort(ranges, EpochTimeRange.ORDER_BY_START);
+    List<EpochTimeRange> merged = new ArrayList<>();
+    long runStart = 0;
+    long runEnd = Long.MIN_VALUE;
+    for (EpochTimeRange range : ranges) {
+      if (range.duration() <= 0) {
+        continue;
+      }
+      if (range.start() > runEnd) {
+        // The sweep has left the current run, so it is final.
+        if (runEnd != Long.MIN_VALUE) {
+          merged.add(EpochTimeRange.fromStartEnd(runStart, runEnd, false));
+        }
+        runStart = range.start();
+        runEnd = range.end();
+      } else {
+        runEnd = Math.max(runEnd, range.end());
+      }
+    }
+    if (runEnd != Long.MIN_VALUE) {
+      merged.add(EpochTimeRange.fromStartEnd(runStart, runEnd, false));
+    }
+    return merged;
+  }
+
+  /** One attendee's disjoint busy intervals, as parallel arrays sorted by start. */
+  private static final class Timeline {
+    private final long[] starts;
+    private final long[] ends;
+
+    Timeline(Collection<EpochTimeRange> busy) {
+      List<EpochTimeRange> merged = sortAndMerge(new ArrayList<>(busy));
+      this.starts = new long[merged.size()];
+      this.ends = new long[merged.size()];
+      for (int i = 0; i < merged.size(); i++) {
+        starts[i] = merged.get(i).start();
+        ends[i] = merged.get(i).end();
+      }
+    }
+
+    List<EpochTimeRange> within(EpochTimeRange window) {
+      List<EpochTimeRange> result = new ArrayList<>();
+      for (int i = firstEndingAfter(window.start()); i < starts.length; i++) {
+        if (starts[i] >= window.end()) {
+          break;
+        }
+        long start = Math.max(starts[i], window.start());
+        long end = Math.min(ends[i], window.end());
+        result.add(EpochTimeRange.fromStartEnd(start, end, false));
+      }
+      return result;
+    }
+
+    /** Returns the index of the first interval ending after {@code time}. */
+    private int firstEndingAfter(long time) {
+      int index = Arrays.binarySearch(ends, time);
+      // An interval ending exactly at {@code time} does not reach into the window.
+      return index >= 0 ? index + 1 : -index - 1;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the attendees' calendars with a heap keyed on the start of each calendar's next range,
+ * emitting the gaps as it goes. Calendars are already sorted, and are disjoint when they come from
+ * {@link EventIndex#getBusy(String)}, so nothing is sorted per query: merging E ranges across K
+ * attendees costs O(E log K) instead of the O(E log E) of {@code SweepLineEngine}. The heap is a
+ * {@code CalendarHeap}, which holds attendee numbers in a plain {@code int[]}, so no boxing
+ * happens while merging.
+ */
+public final class KWayMergeEngine implements AvailabilityEngine {
+  @Override
+  public List<TimeRange> findVacantSlots(List<List<TimeRange>> busyByAttendee, long minDuration) {
+    return SweepLineMerger.vacantSlots(union(busyByAttendee), minDuration);
+  }
+
+  /**
+   * Returns the disjoint intervals, in ascending order, during which at least one of the calendars
+   * in {@code busyByAttendee} is busy.
+   *
+   * @param busyByAttendee Calendars sorted by {@link TimeRange#ORDER_BY_START}. Ranges within a
+   *     calendar may overlap.
+   */
+  public static List<TimeRange> union(List<List<TimeRange>> busyByAttendee) {
+    int calendars = busyByAttendee.size();
+    TimeRangeColumns merged = new TimeRangeColumns(calendars);
+    unionInto(busyByAttendee, new CalendarHeap(calendars), merged);
+    return new ArrayList<>(merged.asList());
+  }
+
+  /**
+   * Same as {@link #union(List)}, but appends the intervals to {@code out} and merges in the
+   * caller's {@code heap}. Allocates nothing unless {@code heap} or {@code out} has to grow.
+   */
+  static void unionInto(
+      List<List<TimeRange>> busyByAttendee, CalendarHeap heap, TimeRangeColumns out) {
+    heap.reset(busyByAttendee);
+    int runStart = 0;
+    int runEnd = -1;
+    while (!heap.isEmpty()) {
+      TimeRange range = heap.peek();
+      if (range.start() > runEnd) {
+        // The merge has left the current run, so it is final.
+        if (runEnd >= 0) {
+          out.add(runStart, runEnd);
+        }
+        runStart = range.start();
+        runEnd = range.end();
+      } else {
+        runEnd = Math.max(runEnd, range.end());
+      }
+      heap.advance();
+    }
+    if (runEnd >= 0) {
+      out.add(runStart, runEnd);
+    }
+  }
+}
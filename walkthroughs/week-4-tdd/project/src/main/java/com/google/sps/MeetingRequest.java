@@ -21,12 +21,25 @@ public final class MeetingRequest {
   // All the people that should be attending this new meeting. Use a set to avoid duplicates.
   private final Collection<String> attendees = new HashSet<>();
 
+  // People who would like to attend, but whose absence does not block the meeting.
+  private final Collection<String> optionalAttendees = new HashSet<>();
+
   // The duration of the meeting in minutes.
   private final long duration;
 
   public MeetingRequest(Collection<String> attendees, long duration) {
+    this(attendees, Collections.emptySet(), duration);
+  }
+
+  /**
+   * Creates a request that {@code attendees} must attend and {@code optionalAttendees} are invited
+   * to without being required.
+   */
+  public MeetingRequest(
+      Collection<String> attendees, Collection<String> optionalAttendees, long duration) {
     this.duration = duration;
     this.attendees.addAll(attendees);
+    this.optionalAttendees.addAll(optionalAttendees);
   }
 
   /**
@@ -36,6 +49,14 @@ public final class MeetingRequest {
     return Collections.unmodifiableCollection(attendees);
   }
 
+  /**
+   * Returns a read-only copy of the people who are invited to this meeting but do not have to
+   * attend.
+   */
+  public Collection<String> getOptionalAttendees() {
+    return Collections.unmodifiableCollection(optionalAttendees);
+  }
+
   /**
    * Returns the duration of the meeting in minutes.
    */
@@ -0,0 +1,215 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Branch-and-bound search for the largest group of optional attendees that can join a meeting.
+ *
+ * <p>Instead of trying every subset of optional attendees, the solver looks for the meeting window
+ * that the most optional attendees are free for. The best window can always be slid earlier until
+ * it starts at the beginning of a mandatory slot or of somebody's free gap, so only those start
+ * times need to be tried. Slots are visited in order of how many optional attendees could possibly
+ * fit in them, and the search stops as soon as no remaining slot or window can beat the best group
+ * found so far.
+ */
+public final class OptionalAttendeeSolver {
+  /**
+   * Returns the largest group of optional attendees who can all meet, together with the mandatory
+   * attendees, for {@code duration} minutes. Of equally large groups, the one found first wins:
+   * slots are searched by decreasing upper bound, and in time order among equal bounds, so a later
+   * slot with a higher bound can win over an earlier one.
+   *
+   * @param mandatorySlots The slots in which every mandatory attendee is free, in ascending order.
+   * @param optionalBusy Each optional attendee's disjoint busy intervals, in ascending order.
+   * @param duration The meeting length in minutes.
+   */
+  public List<String> solve(
+      List<TimeRange> mandatorySlots, Map<String, List<TimeRange>> optionalBusy, long duration) {
+    List<SlotCandidates> slots = new ArrayList<>();
+    for (TimeRange slot : mandatorySlots) {
+      slots.add(new SlotCandidates(slot, optionalBusy, duration));
+    }
+    // Most promising slots first. The sort is stable, so equal bounds keep their time order.
+    slots.sort(Comparator.comparingInt((SlotCandidates slot) -> slot.upperBound()).reversed());
+
+    List<String> best = Collections.emptyList();
+    for (SlotCandidates slot : slots) {
+      if (slot.upperBound() <= best.size()) {
+        // Slots are sorted by bound, so no later slot can do better either.
+        break;
+      }
+      best = slot.bestGroup(best, duration);
+      if (best.size() == optionalBusy.size()) {
+        break;
+      }
+    }
+    return best;
+  }
+
+  /** An optional attendee's free gaps inside one mandatory slot. */
+  private static final class Candidate {
+    final String attendee;
+    final int[] gapStarts;
+    final int[] gapEnds;
+
+    Candidate(String attendee, int[] gapStarts, int[] gapEnds) {
+      this.attendee = attendee;
+      this.gapStarts = gapStarts;
+      this.gapEnds = gapEnds;
+    }
+
+    /** Returns true if one of the gaps holds a meeting of {@code duration} at {@code start}. */
+    boolean isFree(int start, long duration) {
+      int index = Arrays.binarySearch(gapStarts, start);
+      if (index < 0) {
+        // Use the last gap starting before {@code start}.
+        index = -index - 2;
+      }
+      return index >= 0 && start + duration <= gapEnds[index];
+    }
+  }
+
+  /** One mandatory slot and the optional attendees who have a long enough gap inside it. */
+  private static final class SlotCandidates {
+    final TimeRange slot;
+    final List<Candidate> candidates = new ArrayList<>();
+
+    SlotCandidates(TimeRange slot, Map<String, List<TimeRange>> optionalBusy, long duration) {
+      this.slot = slot;
+      for (Map.Entry<String, List<TimeRange>> entry : optionalBusy.entrySet()) {
+        Candidate candidate = freeGaps(entry.getKey(), entry.getValue(), slot, duration);
+        if (candidate != null) {
+          candidates.add(candidate);
+        }
+      }
+    }
+
+    /** At most this many optional attendees can join a meeting in this slot. */
+    int upperBound() {
+      return candidates.size();
+    }
+
+    /** Returns the largest group that fits in this slot if it beats {@code best}, else best. */
+    List<String> bestGroup(List<String> best, long duration) {
+      int bestCount = best.size();
+      int bestStart = -1;
+
+      for (int start : candidateStarts()) {
+        int count = 0;
+        int remaining = candidates.size();
+        for (Candidate candidate : candidates) {
+          if (count + remaining <= bestCount) {
+            // Even if everyone left is free, this window cannot win.
+            break;
+          }
+          remaining--;
+          if (candidate.isFree(start, duration)) {
+            count++;
+          }
+        }
+        if (count > bestCount) {
+          bestCount = count;
+          bestStart = start;
+          if (bestCount == candidates.size()) {
+            break;
+          }
+        }
+      }
+
+      if (bestStart < 0) {
+        return best;
+      }
+      List<String> group = new ArrayList<>();
+      for (Candidate candidate : candidates) {
+        if (candidate.isFree(bestStart, duration)) {
+          group.add(candidate.attendee);
+        }
+      }
+      return group;
+    }
+
+    /** Returns the sorted, distinct start times worth trying in this slot. */
+    private int[] candidateStarts() {
+      int total = 1;
+      for (Candidate candidate : candidates) {
+        total += candidate.gapStarts.length;
+      }
+
+      int[] starts = new int[total];
+      int size = 0;
+      starts[size++] = slot.start();
+      for (Candidate candidate : candidates) {
+        System.arraycopy(candidate.gapStarts, 0, starts, size, candidate.gapStarts.length);
+        size += candidate.gapStarts.length;
+      }
+      return Arrays.stream(starts).sorted().distinct().toArray();
+    }
+  }
+
+  /**
+   * Returns the gaps of at least {@code duration} minutes that {@code attendee} has inside
+   * {@code slot}, or null if there are none.
+   */
+  private static Candidate freeGaps(
+      String attendee, List<TimeRange> busy, TimeRange slot, long duration) {
+    List<Integer> starts = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+
+    int cursor = slot.start();
+    for (int i = firstEndingAfter(busy, slot.start()); i < busy.size(); i++) {
+      TimeRange range = busy.get(i);
+      if (range.start() >= slot.end()) {
+        break;
+      }
+      if (range.start() - cursor >= duration) {
+        starts.add(cursor);
+        ends.add(range.start());
+      }
+      cursor = Math.max(cursor, range.end());
+    }
+    if (slot.end() - cursor >= duration) {
+      starts.add(cursor);
+      ends.add(slot.end());
+    }
+
+    if (starts.isEmpty()) {
+      return null;
+    }
+    return new Candidate(attendee, starts.stream().mapToInt(Integer::intValue).toArray(),
+        ends.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  /** Returns the index of the first disjoint, ascending range ending after {@code time}. */
+  private static int firstEndingAfter(List<TimeRange> busy, int time) {
+    int low = 0;
+    int high = busy.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (busy.get(mid).end() <= time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
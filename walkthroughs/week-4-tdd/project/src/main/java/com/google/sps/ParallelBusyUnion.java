@@ -0,0 +1,74 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Computes the merged busy intervals of a large list of items, such as attendees or events, on a
+ * {@code ForkJoinPool}. The list is split in half until the pieces are no larger than a chunk;
+ * each chunk is merged on its own, and the partial unions are then combined pairwise on the way
+ * back up, so the combining forms a balanced reduction tree.
+ */
+final class ParallelBusyUnion<T> extends RecursiveTask<List<TimeRange>> {
+  // Aim for a few chunks per worker so that idle workers can steal some.
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  private final List<T> items;
+  private final int from;
+  private final int to;
+  private final int chunkSize;
+  private final Function<List<T>, List<TimeRange>> mergeChunk;
+
+  private ParallelBusyUnion(List<T> items, int from, int to, int chunkSize,
+      Function<List<T>, List<TimeRange>> mergeChunk) {
+    this.items = items;
+    this.from = from;
+    this.to = to;
+    this.chunkSize = chunkSize;
+    this.mergeChunk = mergeChunk;
+  }
+
+  /**
+   * Returns the disjoint busy intervals, in ascending order, of all of {@code items}.
+   *
+   * @param minChunkSize The fewest items worth a task of their own.
+   * @param mergeChunk Returns the disjoint busy intervals of a sublist of {@code items}, in
+   *     ascending order. Must be safe to call from several threads at once.
+   */
+  static <T> List<TimeRange> union(ForkJoinPool pool, List<T> items, int minChunkSize,
+      Function<List<T>, List<TimeRange>> mergeChunk) {
+    int chunkSize =
+        Math.max(minChunkSize, items.size() / (pool.getParallelism() * CHUNKS_PER_WORKER));
+    return pool.invoke(new ParallelBusyUnion<>(items, 0, items.size(), chunkSize, mergeChunk));
+  }
+
+  @Override
+  protected List<TimeRange> compute() {
+    if (to - from <= chunkSize) {
+      return mergeChunk.apply(items.subList(from, to));
+    }
+
+    int middle = (from + to) >>> 1;
+    ParallelBusyUnion<T> left = new ParallelBusyUnion<>(items, from, middle, chunkSize, mergeChunk);
+    left.fork();
+    List<TimeRange> right =
+        new ParallelBusyUnion<>(items, middle, to, chunkSize, mergeChunk).compute();
+    return SweepLineMerger.union(left.join(), right);
+  }
+}
@@ -0,0 +1,204 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the answers to recent meeting requests. Requests are normalised first, so the order
+ * and repetition of attendee names do not matter, and every answer is tied to the version of the
+ * events it was computed from: once the events change, old answers are never returned again and
+ * simply age out.
+ *
+ * <p>The cache holds at most a fixed number of answers, evicting the least recently used one, and
+ * forgets answers after a time-to-live. Caches are thread-safe. Two threads that miss on the same
+ * request at once may both compute it; the later answer wins.
+ */
+public final class QueryResultCache {
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LongSupplier nanoClock;
+  private final LinkedHashMap<Key, CachedAnswer> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxEntries The most answers to keep. Must be positive.
+   * @param ttlMillis How long an answer may be served, in milliseconds. Must be positive.
+   */
+  public QueryResultCache(int maxEntries, long ttlMillis) {
+    this(maxEntries, ttlMillis, System::nanoTime);
+  }
+
+  QueryResultCache(int maxEntries, long ttlMillis, LongSupplier nanoClock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("ttlMillis must be positive");
+    }
+
+    this.maxEntries = maxEntries;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.nanoClock = nanoClock;
+    // An access-ordered map keeps the least recently used entry first.
+    this.entries = new LinkedHashMap<Key, CachedAnswer>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, CachedAnswer> eldest) {
+        return size() > QueryResultCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached answer to {@code request} for the events at {@code version}, or computes,
+   * caches and returns it with {@code query} if there is none. The answer is read-only.
+   */
+  public Collection<TimeRange> get(MeetingRequest request, long version,
+      Function<MeetingRequest, ? extends Collection<TimeRange>> query) {
+    Collection<TimeRange> answer = getIfPresent(request, version);
+    if (answer == null) {
+      answer = put(request, version, query.apply(request));
+    }
+    return answer;
+  }
+
+  /**
+   * Returns the cached answer to {@code request} for the events at {@code version}, or null if
+   * there is none. Counts as a hit or a miss.
+   */
+  public Collection<TimeRange> getIfPresent(MeetingRequest request, long version) {
+    Key key = new Key(request, version);
+    synchronized (entries) {
+      CachedAnswer entry = entries.get(key);
+      if (entry != null && nanoClock.getAsLong() - entry.createdNanos < ttlNanos) {
+        hits.incrementAndGet();
+        return entry.answer;
+      }
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Caches {@code answer} to {@code request} for the events at {@code version} and returns a
+   * read-only copy of it.
+   */
+  public Collection<TimeRange> put(
+      MeetingRequest request, long version, Collection<TimeRange> answer) {
+    Collection<TimeRange> copy = Collections.unmodifiableList(new ArrayList<>(answer));
+    CachedAnswer entry = new CachedAnswer(copy, nanoClock.getAsLong());
+    Key key = new Key(request, version);
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+    return copy;
+  }
+
+  /**
+   * Returns the number of requests answered from the cache.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of requests that had to be computed.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns the number of answers held, including expired ones that have not been evicted yet.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Drops every answer.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /** A request reduced to what its answer depends on. */
+  private static final class Key {
+    private final String[] attendees;
+    private final String[] optionalAttendees;
+    private final long duration;
+    private final long version;
+
+    Key(MeetingRequest request, long version) {
+      this.attendees = sorted(request.getAttendees());
+      this.optionalAttendees = sorted(request.getOptionalAttendees());
+      this.duration = request.getDuration();
+      this.version = version;
+    }
+
+    private static String[] sorted(Collection<String> names) {
+      String[] result = names.toArray(new String[0]);
+      Arrays.sort(result);
+      return result;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = Arrays.hashCode(attendees);
+      hash = 31 * hash + Arrays.hashCode(optionalAttendees);
+      hash = 31 * hash + Long.hashCode(duration);
+      return 31 * hash + Long.hashCode(version);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return duration == key.duration
+          && version == key.version
+          && Arrays.equals(attendees, key.attendees)
+          && Arrays.equals(optionalAttendees, key.optionalAttendees);
+    }
+  }
+
+  private static final class CachedAnswer {
+    final Collection<TimeRange> answer;
+    final long createdNanos;
+
+    CachedAnswer(Collection<TimeRange> answer, long createdNanos) {
+      this.answer = answer;
+      this.createdNanos = createdNanos;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+
+/**
+ * Describes the days on which a recurring event takes place: every {@code intervalDays} days from
+ * a first day, optionally only on some days of the week, optionally until a last day. Days are
+ * counted since 1970-01-01 (epoch days), like in {@code EpochTimeRange.onDay}. Rules are
+ * immutable.
+ */
+public final class RecurrenceRule {
+  private static final int ALL_DAYS = 0x7F;
+  private static final int WEEKDAYS = ALL_DAYS & ~dayBit(DayOfWeek.SATURDAY)
+      & ~dayBit(DayOfWeek.SUNDAY);
+
+  private final long firstDay;
+  private final int intervalDays;
+  private final long lastDay;
+  // Bit (d - 1) is set if the rule applies on DayOfWeek d.
+  private final int daysOfWeek;
+
+  private RecurrenceRule(long firstDay, int intervalDays, long lastDay, int daysOfWeek) {
+    if (intervalDays <= 0) {
+      throw new IllegalArgumentException("intervalDays must be positive");
+    }
+    this.firstDay = firstDay;
+    this.intervalDays = intervalDays;
+    this.lastDay = lastDay;
+    this.daysOfWeek = daysOfWeek;
+  }
+
+  /**
+   * Returns a rule for every day from {@code firstDay} on.
+   */
+  public static RecurrenceRule daily(long firstDay) {
+    return everyNDays(firstDay, 1);
+  }
+
+  /**
+   * Returns a rule for every Monday to Friday from {@code firstDay} on.
+   */
+  public static RecurrenceRule weekdays(long firstDay) {
+    return new RecurrenceRule(firstDay, 1, Long.MAX_VALUE, WEEKDAYS);
+  }
+
+  /**
+   * Returns a rule for {@code firstDay} and the same day of every following week.
+   */
+  public static RecurrenceRule weekly(long firstDay) {
+    return everyNDays(firstDay, 7);
+  }
+
+  /**
+   * Returns a rule for {@code firstDay} and every {@code intervalDays}-th day after it.
+   */
+  public static RecurrenceRule everyNDays(long firstDay, int intervalDays) {
+    return new RecurrenceRule(firstDay, intervalDays, Long.MAX_VALUE, ALL_DAYS);
+  }
+
+  /**
+   * Returns a copy of this rule that ends on {@code lastDay}, inclusive.
+   */
+  public RecurrenceRule until(long lastDay) {
+    return new RecurrenceRule(firstDay, intervalDays, lastDay, daysOfWeek);
+  }
+
+  public long getFirstDay() {
+    return firstDay;
+  }
+
+  public long getLastDay() {
+    return lastDay;
+  }
+
+  /**
+   * Returns true if the rule applies on {@code day}.
+   */
+  public boolean occursOn(long day) {
+    return day >= firstDay
+        && day <= lastDay
+        && (day - firstDay) % intervalDays == 0
+        && (daysOfWeek & dayBit(dayOfWeek(day))) != 0;
+  }
+
+  /**
+   * Returns the first day on or after {@code day} on which the rule applies, or
+   * {@code Long.MAX_VALUE} if there is none. Only looks at the days the interval lands on.
+   */
+  public long nextOccurrence(long day) {
+    long candidate = firstDay;
+    if (day > firstDay) {
+      // Round up to the next day the interval lands on.
+      long steps = (day - firstDay + intervalDays - 1) / intervalDays;
+      candidate = firstDay + steps * intervalDays;
+    }
+    // Every day of the week comes round within seven steps, so a miss after that is final.
+    for (int i = 0; i < 7 && candidate <= lastDay; i++, candidate += intervalDays) {
+      if ((daysOfWeek & dayBit(dayOfWeek(candidate))) != 0) {
+        return candidate;
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private static DayOfWeek dayOfWeek(long epochDay) {
+    // 1970-01-01 was a Thursday.
+    return DayOfWeek.of((int) Math.floorMod(epochDay + 3, 7L) + 1);
+  }
+
+  private static int dayBit(DayOfWeek day) {
+    return 1 << (day.getValue() - 1);
+  }
+}
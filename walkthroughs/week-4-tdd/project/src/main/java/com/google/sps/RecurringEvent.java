@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@code Event} that repeats on the days given by a {@code RecurrenceRule}, at the same time of
+ * day each time. Only the rule is stored; occurrences are worked out on demand for the window being
+ * searched, so a series costs the same however long it runs. Recurring events are considered
+ * read-only.
+ */
+public final class RecurringEvent {
+  private final Event event;
+  private final RecurrenceRule rule;
+
+  /**
+   * Creates a recurring event.
+   *
+   * @param event The title, time of day and attendees of every occurrence. Must be non-null.
+   * @param rule The days the event takes place on. Must be non-null.
+   */
+  public RecurringEvent(Event event, RecurrenceRule rule) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    if (rule == null) {
+      throw new IllegalArgumentException("rule cannot be null");
+    }
+
+    this.event = event;
+    this.rule = rule;
+  }
+
+  public Event getEvent() {
+    return event;
+  }
+
+  public RecurrenceRule getRule() {
+    return rule;
+  }
+
+  /**
+   * Returns the occurrences that overlap {@code window}, clipped to it and in ascending order.
+   * Only the days the window covers are looked at.
+   */
+  public List<EpochTimeRange> occurrencesWithin(EpochTimeRange window) {
+    List<EpochTimeRange> occurrences = new ArrayList<>();
+    TimeRange when = event.getWhen();
+    if (when.duration() <= 0 || window.duration() <= 0) {
+      return occurrences;
+    }
+
+    // An occurrence lies within its own day, so only the days the window touches can overlap it.
+    long firstDay = Math.floorDiv(window.start(), EpochTimeRange.MINUTES_PER_DAY);
+    long lastDay = Math.floorDiv(window.end() - 1, EpochTimeRange.MINUTES_PER_DAY);
+    for (long day = rule.nextOccurrence(firstDay); day <= lastDay;
+        day = rule.nextOccurrence(day + 1)) {
+      EpochTimeRange occurrence = EpochTimeRange.onDay(day, when);
+      long start = Math.max(occurrence.start(), window.start());
+      long end = Math.min(occurrence.end(), window.end());
+      if (end > start) {
+        occurrences.add(EpochTimeRange.fromStartEnd(start, end, false));
+      }
+    }
+    return occurrences;
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Picks the best meeting times out of the vacant slots {@code FindMeetingQuery} returns. Within
+ * every slot the meeting may start at the slot's start, at its latest possible start, or at any
+ * multiple of a step in between. Each candidate is scored by the sum of the ranker's
+ * {@code SlotScorer}s, and the best K are kept in a bounded heap, so ranking n candidates costs
+ * O(n log K).
+ */
+public final class SlotRanker {
+  /** The default spacing, in minutes, of the candidate starts inside a slot. */
+  public static final int DEFAULT_STEP = 15;
+
+  // Worst first, so the heap's head is the candidate to drop. Among equal scores later starts are
+  // worse, which keeps the ranking stable.
+  private static final Comparator<Scored> WORST_FIRST =
+      Comparator.<Scored>comparingDouble(scored -> scored.score)
+          .thenComparing((a, b) -> Integer.compare(b.when.start(), a.when.start()));
+
+  private final List<SlotScorer> scorers;
+  private final int step;
+
+  /**
+   * Creates a ranker that tries a start every {@link #DEFAULT_STEP} minutes.
+   */
+  public SlotRanker(List<SlotScorer> scorers) {
+    this(scorers, DEFAULT_STEP);
+  }
+
+  /**
+   * Creates a ranker.
+   *
+   * @param scorers The scorers whose sum rates each candidate. Must be non-null.
+   * @param step The spacing of candidate starts inside a slot, in minutes. Must be positive.
+   */
+  public SlotRanker(List<SlotScorer> scorers, int step) {
+    if (scorers == null) {
+      throw new IllegalArgumentException("scorers cannot be null. Use empty list instead.");
+    }
+
+    if (step <= 0) {
+      throw new IllegalArgumentException("step must be positive");
+    }
+
+    this.scorers = new ArrayList<>(scorers);
+    this.step = step;
+  }
+
+  /**
+   * Returns the {@code k} best meeting times of {@code duration} minutes within
+   * {@code vacantSlots}, best first. Equally good times are ordered by start.
+   */
+  public List<TimeRange> topK(Collection<TimeRange> vacantSlots, long duration, int k) {
+    if (k <= 0 || duration <= 0 || duration > TimeRange.WHOLE_DAY.duration()) {
+      return Collections.emptyList();
+    }
+
+    PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(k, 1024) + 1, WORST_FIRST);
+    for (TimeRange slot : vacantSlots) {
+      int latestStart = slot.end() - (int) duration;
+      if (latestStart < slot.start()) {
+        continue;
+      }
+      // The slot's start, every multiple of the step inside it, then its latest start.
+      int start = slot.start();
+      while (true) {
+        offer(best, k, TimeRange.fromStartDuration(start, (int) duration), slot);
+        if (start == latestStart) {
+          break;
+        }
+        start = Math.min(latestStart, (start / step + 1) * step);
+      }
+    }
+
+    List<TimeRange> ranked = new ArrayList<>(best.size());
+    while (!best.isEmpty()) {
+      ranked.add(best.poll().when);
+    }
+    Collections.reverse(ranked);
+    return ranked;
+  }
+
+  private void offer(PriorityQueue<Scored> best, int k, TimeRange candidate, TimeRange slot) {
+    double score = 0;
+    for (SlotScorer scorer : scorers) {
+      score += scorer.score(candidate, slot);
+    }
+    Scored scored = new Scored(candidate, score);
+    if (best.size() < k) {
+      best.add(scored);
+    } else if (WORST_FIRST.compare(scored, best.peek()) > 0) {
+      best.poll();
+      best.add(scored);
+    }
+  }
+
+  private static final class Scored {
+    final TimeRange when;
+    final double score;
+
+    Scored(TimeRange when, double score) {
+      this.when = when;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * Rates a candidate meeting time for {@code SlotRanker}. Higher scores are better. The scores of
+ * all of a ranker's scorers are added up, so a scorer's weight sets how much it matters relative
+ * to the others.
+ */
+public interface SlotScorer {
+  /**
+   * Returns the score of holding the meeting at {@code candidate}.
+   *
+   * @param candidate The meeting itself, as long as the requested duration.
+   * @param vacantSlot The vacant slot the meeting would be placed in.
+   */
+  double score(TimeRange candidate, TimeRange vacantSlot);
+
+  /**
+   * Returns a scorer that awards up to {@code weight} for meetings inside {@code window}, in
+   * proportion to how much of the meeting falls within it. Use it for preferred hours.
+   */
+  static SlotScorer preferWindow(TimeRange window, double weight) {
+    return (candidate, vacantSlot) -> {
+      int overlap = Math.min(candidate.end(), window.end())
+          - Math.max(candidate.start(), window.start());
+      return overlap <= 0 ? 0 : weight * overlap / candidate.duration();
+    };
+  }
+
+  /**
+   * Returns a scorer that takes off {@code weightPerHour} for every hour the meeting starts away
+   * from {@code minute}.
+   */
+  static SlotScorer closeTo(int minute, double weightPerHour) {
+    return (candidate, vacantSlot) ->
+        -weightPerHour * Math.abs(candidate.start() - minute) / 60.0;
+  }
+
+  /**
+   * Returns a scorer that takes off {@code weight} for each piece of free time shorter than
+   * {@code minUsefulGap} minutes that the meeting would leave on either side of it. Meetings that
+   * sit flush against the edges of their slot, or leave room for something else, lose nothing.
+   */
+  static SlotScorer avoidFragmentation(int minUsefulGap, double weight) {
+    return (candidate, vacantSlot) -> {
+      double penalty = 0;
+      int before = candidate.start() - vacantSlot.start();
+      int after = vacantSlot.end() - candidate.end();
+      if (before > 0 && before < minUsefulGap) {
+        penalty += weight;
+      }
+      if (after > 0 && after < minUsefulGap) {
+        penalty += weight;
+      }
+      return -penalty;
+    };
+  }
+}
@@ -0,0 +1,37 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers every busy range, sorts once and sweeps them with {@code SweepLineMerger}. Exact at
+ * minute resolution. Sorting the union costs O(E log E) per query; {@code KWayMergeEngine} avoids
+ * it when the calendars are already sorted.
+ */
+public final class SweepLineEngine implements AvailabilityEngine {
+  @Override
+  public List<TimeRange> findVacantSlots(List<List<TimeRange>> busyByAttendee, long minDuration) {
+    List<TimeRange> occupied = new ArrayList<>();
+    for (List<TimeRange> busy : busyByAttendee) {
+      occupied.addAll(busy);
+    }
+
+    // Each attendee's list is already sorted, so the sort only has to merge sorted runs.
+    List<TimeRange> merged = SweepLineMerger.sortAndMerge(occupied);
+    return SweepLineMerger.vacantSlots(merged, minDuration);
+  }
+}
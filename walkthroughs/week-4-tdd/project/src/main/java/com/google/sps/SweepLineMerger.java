@@ -0,0 +1,152 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-pass sweep-line helpers for turning busy {@code TimeRange}s into merged busy intervals
+ * and the vacant slots between them. Every method runs in linear time over its (sorted) input and
+ * only ever appends to its output, so no elements are shifted around in the middle of a list.
+ */
+public final class SweepLineMerger {
+  /** The exclusive end of the searchable day. */
+  public static final int DAY_END = TimeRange.WHOLE_DAY.end();
+
+  private SweepLineMerger() {
+    // Disallow instances.
+  }
+
+  /**
+   * Sorts {@code ranges} by start time in place and merges them. See {@link #mergeSorted(List)}.
+   */
+  public static List<TimeRange> sortAndMerge(List<TimeRange> ranges) {
+    Collections.sort(ranges, TimeRange.ORDER_BY_START);
+    return mergeSorted(ranges);
+  }
+
+  /**
+   * Merges ranges that overlap or touch into a new list of disjoint busy intervals.
+   *
+   * <p>Ranges without a duration do not make anyone busy and are skipped.
+   *
+   * @param sorted Ranges sorted by {@link TimeRange#ORDER_BY_START}. Not modified.
+   * @return Disjoint, non-adjacent ranges in ascending order.
+   */
+  public static List<TimeRange> mergeSorted(List<TimeRange> sorted) {
+    List<TimeRange> merged = new ArrayList<>();
+    int runStart = 0;
+    int runEnd = -1;
+
+    for (TimeRange range : sorted) {
+      if (range.duration() <= 0) {
+        continue;
+      }
+      if (range.start() > runEnd) {
+        // The sweep has left the current run, so it is final.
+        if (runEnd >= 0) {
+          merged.add(TimeRange.fromStartEnd(runStart, runEnd, false));
+        }
+        runStart = range.start();
+        runEnd = range.end();
+      } else if (range.end() > runEnd) {
+        runEnd = range.end();
+      }
+    }
+
+    if (runEnd >= 0) {
+      merged.add(TimeRange.fromStartEnd(runStart, runEnd, false));
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the union of two lists of disjoint busy intervals, merging intervals from either list
+   * that overlap or touch. Runs in linear time, without sorting.
+   *
+   * @param first Disjoint ranges in ascending order, e.g. from {@link #mergeSorted(List)}.
+   * @param second Disjoint ranges in ascending order.
+   * @return Disjoint, non-adjacent ranges in ascending order.
+   */
+  public static List<TimeRange> union(List<TimeRange> first, List<TimeRange> second) {
+    List<TimeRange> merged = new ArrayList<>(first.size() + second.size());
+    int runStart = 0;
+    int runEnd = -1;
+    int i = 0;
+    int j = 0;
+
+    while (i < first.size() || j < second.size()) {
+      // Take whichever list's next range starts first.
+      TimeRange range;
+      if (j == second.size()
+          || (i < first.size() && first.get(i).start() <= second.get(j).start())) {
+        range = first.get(i++);
+      } else {
+        range = second.get(j++);
+      }
+
+      if (range.start() > runEnd) {
+        if (runEnd >= 0) {
+          merged.add(TimeRange.fromStartEnd(runStart, runEnd, false));
+        }
+        runStart = range.start();
+        runEnd = range.end();
+      } else if (range.end() > runEnd) {
+        runEnd = range.end();
+      }
+    }
+
+    if (runEnd >= 0) {
+      merged.add(TimeRange.fromStartEnd(runStart, runEnd, false));
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the gaps of at least {@code minDuration} minutes between the busy intervals within
+   * the day.
+   *
+   * @param merged Disjoint busy ranges in ascending order, e.g. from {@link #mergeSorted(List)}.
+   * @param minDuration The shortest gap worth reporting, in minutes.
+   */
+  public static List<TimeRange> vacantSlots(List<TimeRange> merged, long minDuration) {
+    List<TimeRange> vacant = new ArrayList<>();
+    int cursor = TimeRange.START_OF_DAY;
+
+    for (TimeRange busy : merged) {
+      if (busy.start() >= DAY_END) {
+        break;
+      }
+      addIfLongEnough(vacant, cursor, busy.start(), minDuration);
+      cursor = Math.max(cursor, busy.end());
+    }
+
+    addIfLongEnough(vacant, cursor, DAY_END, minDuration);
+    return vacant;
+  }
+
+  /** Returns {@code minute} moved into {@code [START_OF_DAY, DAY_END]}. */
+  static int clampToDay(int minute) {
+    return Math.max(TimeRange.START_OF_DAY, Math.min(DAY_END, minute));
+  }
+
+  private static void addIfLongEnough(List<TimeRange> out, int start, int end, long minDuration) {
+    if (end > start && end - start >= minDuration) {
+      out.add(TimeRange.fromStartEnd(start, end, false));
+    }
+  }
+}
@@ -0,0 +1,209 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable list of time ranges stored without any per-range objects. Each range is packed into
+ * a single {@code long}: the start in the high 32 bits and the exclusive end in the low 32 bits.
+ * Sorting the packed values therefore orders ranges by start (then end) using a primitive sort.
+ *
+ * <p>Starts and ends must be non-negative minutes, as they are for every {@code TimeRange} in a
+ * day. Columns are not thread-safe.
+ */
+public final class TimeRangeColumns {
+  private static final long LOW_BITS = 0xFFFFFFFFL;
+
+  private long[] packed;
+  private int size;
+
+  /**
+   * Creates empty columns.
+   */
+  public TimeRangeColumns() {
+    this(16);
+  }
+
+  /**
+   * Creates empty columns with room for {@code capacity} ranges before growing.
+   */
+  public TimeRangeColumns(int capacity) {
+    this.packed = new long[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Creates columns holding the same ranges as {@code ranges}, in the same order.
+   */
+  public static TimeRangeColumns fromRanges(Iterable<TimeRange> ranges) {
+    TimeRangeColumns columns = new TimeRangeColumns();
+    for (TimeRange range : ranges) {
+      columns.add(range);
+    }
+    return columns;
+  }
+
+  /**
+   * Appends the range {@code [start, end)}.
+   */
+  public void add(int start, int end) {
+    if (size == packed.length) {
+      packed = Arrays.copyOf(packed, size * 2);
+    }
+    packed[size++] = pack(start, end);
+  }
+
+  /**
+   * Appends {@code range}.
+   */
+  public void add(TimeRange range) {
+    add(range.start(), range.end());
+  }
+
+  /**
+   * Removes every range, keeping the allocated capacity.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Returns the number of ranges.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the start of the range at {@code index}.
+   */
+  public int start(int index) {
+    return unpackStart(packed[checkIndex(index)]);
+  }
+
+  /**
+   * Returns the exclusive end of the range at {@code index}.
+   */
+  public int end(int index) {
+    return unpackEnd(packed[checkIndex(index)]);
+  }
+
+  /**
+   * Returns the duration of the range at {@code index}.
+   */
+  public int duration(int index) {
+    return end(index) - start(index);
+  }
+
+  /**
+   * Sorts the ranges by start time in place, using a primitive sort.
+   */
+  public void sort() {
+    Arrays.sort(packed, 0, size);
+  }
+
+  /**
+   * Merges ranges that overlap or touch, in place. The ranges must already be sorted. Empty ranges
+   * are dropped, just like {@link SweepLineMerger#mergeSorted(List)} does.
+   */
+  public void mergeSorted() {
+    int merged = 0;
+    int runStart = 0;
+    int runEnd = -1;
+    for (int i = 0; i < size; i++) {
+      int start = unpackStart(packed[i]);
+      int end = unpackEnd(packed[i]);
+      if (end <= start) {
+        continue;
+      }
+      if (start > runEnd) {
+        if (runEnd >= 0) {
+          packed[merged++] = pack(runStart, runEnd);
+        }
+        runStart = start;
+        runEnd = end;
+      } else if (end > runEnd) {
+        runEnd = end;
+      }
+    }
+    if (runEnd >= 0) {
+      packed[merged++] = pack(runStart, runEnd);
+    }
+    size = merged;
+  }
+
+  /**
+   * Appends to {@code out} the gaps of at least {@code minDuration} minutes between these ranges
+   * within the day. These ranges must be sorted and merged.
+   */
+  public void vacantSlots(long minDuration, TimeRangeColumns out) {
+    int cursor = TimeRange.START_OF_DAY;
+    for (int i = 0; i < size; i++) {
+      int start = unpackStart(packed[i]);
+      if (start >= SweepLineMerger.DAY_END) {
+        break;
+      }
+      addIfLongEnough(out, cursor, start, minDuration);
+      cursor = Math.max(cursor, unpackEnd(packed[i]));
+    }
+    addIfLongEnough(out, cursor, SweepLineMerger.DAY_END, minDuration);
+  }
+
+  /**
+   * Returns a read-only {@code List} view of these columns. {@code TimeRange} objects are only
+   * created when an element is read, and the view reflects later changes to the columns.
+   */
+  public List<TimeRange> asList() {
+    return new AbstractList<TimeRange>() {
+      @Override
+      public TimeRange get(int index) {
+        return TimeRange.fromStartEnd(start(index), end(index), false);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+    }
+    return index;
+  }
+
+  private static void addIfLongEnough(TimeRangeColumns out, int start, int end, long minDuration) {
+    if (end > start && end - start >= minDuration) {
+      out.add(start, end);
+    }
+  }
+
+  /** Packs a range into one long that sorts by start, then end. */
+  static long pack(int start, int end) {
+    return ((long) start << 32) | (end & LOW_BITS);
+  }
+
+  static int unpackStart(long packed) {
+    return (int) (packed >>> 32);
+  }
+
+  static int unpackEnd(long packed) {
+    return (int) (packed & LOW_BITS);
+  }
+}
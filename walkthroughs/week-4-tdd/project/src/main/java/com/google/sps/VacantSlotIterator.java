@@ -0,0 +1,92 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Produces the vacant slots around several attendees' busy ranges lazily, in start order. The busy
+ * lists are merged with the same {@code CalendarHeap} as {@code KWayMergeEngine}, and the merge
+ * only advances until the next long enough gap is found, so a caller that stops after a few
+ * slots never touches the rest of the day.
+ */
+final class VacantSlotIterator implements Iterator<TimeRange> {
+  // Attendees whose lists have ranges left, ordered by the start of their next range.
+  private final CalendarHeap heap;
+  private final long minDuration;
+  // Everyone is free from here until the start of the next range in the heap.
+  private int cursor;
+  private TimeRange next;
+
+  /**
+   * Creates an iterator over the vacant slots of at least {@code minDuration} minutes between
+   * {@code after} and the end of the day.
+   *
+   * @param busyByAttendee Each attendee's busy ranges sorted by start. Ranges may overlap.
+   */
+  VacantSlotIterator(List<List<TimeRange>> busyByAttendee, long minDuration, int after) {
+    this.heap = new CalendarHeap(busyByAttendee.size());
+    this.minDuration = minDuration;
+    this.cursor = Math.max(TimeRange.START_OF_DAY, after);
+    heap.reset(busyByAttendee);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = advance();
+    }
+    return next != null;
+  }
+
+  @Override
+  public TimeRange next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    TimeRange slot = next;
+    next = null;
+    return slot;
+  }
+
+  /** Returns the next long enough gap, or null once the day is exhausted. */
+  private TimeRange advance() {
+    while (cursor < SweepLineMerger.DAY_END) {
+      // Absorb every range that starts before the gap does.
+      int gapEnd = SweepLineMerger.DAY_END;
+      while (!heap.isEmpty()) {
+        TimeRange range = heap.peek();
+        if (range.start() > cursor) {
+          gapEnd = Math.min(range.start(), SweepLineMerger.DAY_END);
+          break;
+        }
+        cursor = Math.max(cursor, range.end());
+        heap.advance();
+      }
+
+      int gapStart = cursor;
+      if (gapEnd <= gapStart) {
+        break;
+      }
+      cursor = gapEnd;
+      if (gapEnd - gapStart >= minDuration) {
+        return TimeRange.fromStartEnd(gapStart, gapEnd, false);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,70 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.BusyHistogram;
+import com.google.sps.CalendarJson;
+import com.google.sps.EventIndex;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Reports how many of the requested people are busy at every minute of the day, so the scheduling
+ * UI can draw a heatmap from one request. The body of the POST is a meeting request in the same
+ * JSON shape /query takes; its attendees and optional attendees are counted and its duration is
+ * ignored. The counts come back run-length encoded, as
+ * {@code {"attendees": N, "runs": [{"start": 0, "end": 540, "busy": 0}, ...]}}.
+ */
+@WebServlet("/availability")
+public class AvailabilityServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    MeetingRequest meetingRequest =
+        CalendarJson.GSON.fromJson(request.getReader(), MeetingRequest.class);
+    if (meetingRequest == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "a meeting request is required");
+      return;
+    }
+
+    Set<String> people = new LinkedHashSet<>(meetingRequest.getAttendees());
+    people.addAll(meetingRequest.getOptionalAttendees());
+
+    // Read every calendar from the same snapshot, already normalised by the index.
+    EventIndex index = QueryServlet.EVENT_STORE.snapshot().getIndex();
+    List<List<TimeRange>> busyByAttendee = new ArrayList<>(people.size());
+    for (String person : people) {
+      busyByAttendee.add(index.getBusy(person));
+    }
+
+    Map<String, Object> availability = new LinkedHashMap<>();
+    availability.put("attendees", people.size());
+    availability.put("runs", BusyHistogram.runLengths(BusyHistogram.countBusy(busyByAttendee)));
+
+    // Send the JSON back as the response
+    response.setContentType("application/json");
+    CalendarJson.write(availability, response.getWriter());
+  }
+}
@@ -0,0 +1,87 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.CalendarJson;
+import com.google.sps.ConflictFinder;
+import com.google.sps.Event;
+import com.google.sps.EventStore;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Lists the existing events that a proposed event would clash with. The body of the POST is an
+ * event in the same JSON shape that /get-events returns.
+ */
+@WebServlet("/conflicts")
+public class ConflictsServlet extends HttpServlet {
+  // The interval tree for the last version seen. Only rebuilt when the events change.
+  private static final AtomicReference<VersionedFinder> CONFLICT_FINDER = new AtomicReference<>();
+
+  /** A conflict finder together with the version of the events it was built from. */
+  private static final class VersionedFinder {
+    final long version;
+    final ConflictFinder finder;
+
+    VersionedFinder(EventStore.Snapshot snapshot) {
+      this.version = snapshot.getVersion();
+      this.finder = new ConflictFinder(snapshot.getEvents());
+    }
+  }
+
+  /** The JSON shape of a proposed event. Any field may be missing. */
+  private static final class ProposedEvent {
+    String title;
+    TimeRange when;
+    Collection<String> attendees;
+  }
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    ProposedEvent proposed = CalendarJson.GSON.fromJson(request.getReader(), ProposedEvent.class);
+    if (proposed == null || proposed.when == null || proposed.attendees == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "when and attendees are required");
+      return;
+    }
+    String title = proposed.title == null ? "" : proposed.title;
+    Event event = new Event(title, proposed.when, proposed.attendees);
+
+    List<Event> conflicts = conflictFinder().findConflicts(event);
+
+    // Send the JSON back as the response
+    response.setContentType("application/json");
+    CalendarJson.write(conflicts, response.getWriter());
+  }
+
+  private static ConflictFinder conflictFinder() {
+    EventStore.Snapshot snapshot = QueryServlet.EVENT_STORE.snapshot();
+    VersionedFinder cached = CONFLICT_FINDER.get();
+    if (cached == null || cached.version != snapshot.getVersion()) {
+      // As in /get-events, a concurrent rebuild is harmless but must not replace a newer tree.
+      VersionedFinder built = new VersionedFinder(snapshot);
+      CONFLICT_FINDER.accumulateAndGet(built,
+          (current, fresh) -> current != null && current.version > fresh.version ? current : fresh);
+      cached = built;
+    }
+    return cached.finder;
+  }
+}
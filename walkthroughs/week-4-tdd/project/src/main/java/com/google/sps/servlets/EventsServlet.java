@@ -0,0 +1,75 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.CalendarJson;
+import com.google.sps.Event;
+import com.google.sps.EventStore;
+import java.io.IOException;
+import java.util.Collections;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Changes the events behind /query, /get-events and /conflicts. POST adds the event in the body and
+ * DELETE removes it; the body is an event in the same JSON shape that /get-events returns. Both
+ * reply with the version of the events after the change. Queries already running keep using the
+ * version they started with.
+ */
+@WebServlet("/events")
+public class EventsServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    Event event = readEvent(request, response);
+    if (event != null) {
+      sendVersion(QueryServlet.EVENT_STORE.add(event), response);
+    }
+  }
+
+  @Override
+  public void doDelete(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    Event event = readEvent(request, response);
+    if (event != null) {
+      sendVersion(QueryServlet.EVENT_STORE.remove(event), response);
+    }
+  }
+
+  /** Returns the event in the body, or sends a 400 and returns null if there is none. */
+  private static Event readEvent(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    Event event;
+    try {
+      event = CalendarJson.GSON.fromJson(request.getReader(), Event.class);
+    } catch (JsonParseException | IllegalArgumentException e) {
+      event = null;
+    }
+    if (event == null) {
+      response.sendError(
+          HttpServletResponse.SC_BAD_REQUEST, "title, when and attendees are required");
+    }
+    return event;
+  }
+
+  private static void sendVersion(EventStore.Snapshot snapshot, HttpServletResponse response)
+      throws IOException {
+    response.setContentType("application/json");
+    CalendarJson.write(
+        Collections.singletonMap("version", snapshot.getVersion()), response.getWriter());
+  }
+}
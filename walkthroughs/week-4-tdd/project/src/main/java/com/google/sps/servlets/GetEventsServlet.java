@@ -14,9 +14,9 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
-import com.google.gson.Gson;
+import com.google.sps.EventStore;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -24,13 +24,24 @@ import javax.servlet.http.HttpServletResponse;
 
 @WebServlet("/get-events")
 public class GetEventsServlet extends HttpServlet {
+  // The events rendered for the last version seen. Only rebuilt when the events change.
+  private static final AtomicReference<PreparedJson> PAYLOAD = new AtomicReference<>();
+
   @Override
   public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-    String jsonResponse = gson.toJson(Events.events);
+    EventStore.Snapshot snapshot = QueryServlet.EVENT_STORE.snapshot();
+    PreparedJson payload = PAYLOAD.get();
+    if (payload == null || payload.getVersion() != snapshot.getVersion()) {
+      // Concurrent requests may render the same version twice, which is harmless. Never replace a
+      // newer rendering with an older one.
+      PreparedJson rendered = PreparedJson.render(snapshot.getEvents(), snapshot.getVersion());
+      PAYLOAD.accumulateAndGet(rendered,
+          (current, fresh) -> current != null && current.getVersion() > fresh.getVersion()
+              ? current : fresh);
+      payload = rendered;
+    }
 
     // Send the JSON back as the response
-    response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    payload.send(request, response);
   }
 }
@@ -0,0 +1,155 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.CalendarJson;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * A JSON response rendered once and kept both as plain and as gzip-compressed bytes, so serving
+ * it is a single copy. Each representation has a strong ETag derived from the version of the data
+ * it was rendered from, and requests that already hold the current version get a 304 with no body.
+ *
+ * <p>Versions are only unique within one process and start again after a restart, so every tag
+ * also carries a random epoch picked when the class is loaded. Tags from an earlier process never
+ * match, and clients holding them get the full response.
+ */
+final class PreparedJson {
+  /** Identifies this process in ETags. */
+  static final String EPOCH = Long.toHexString(new SecureRandom().nextLong());
+
+  private final long version;
+  private final String etag;
+  private final String gzipEtag;
+  private final byte[] identity;
+  private final byte[] gzip;
+
+  private PreparedJson(long version, byte[] identity, byte[] gzip) {
+    this.version = version;
+    // The two encodings are different bytes, so a strong ETag must tell them apart.
+    this.etag = "\"" + EPOCH + "-v" + version + "\"";
+    this.gzipEtag = "\"" + EPOCH + "-v" + version + "-gzip\"";
+    this.identity = identity;
+    this.gzip = gzip;
+  }
+
+  /**
+   * Renders {@code value}, which reflects the data at {@code version}.
+   */
+  static PreparedJson render(Object value, long version) throws IOException {
+    ByteArrayOutputStream identity = new ByteArrayOutputStream();
+    Writer writer = new OutputStreamWriter(identity, StandardCharsets.UTF_8);
+    CalendarJson.write(value, writer);
+    writer.close();
+
+    ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+      identity.writeTo(out);
+    }
+    return new PreparedJson(version, identity.toByteArray(), gzip.toByteArray());
+  }
+
+  /**
+   * Returns the version of the data this response was rendered from.
+   */
+  long getVersion() {
+    return version;
+  }
+
+  byte[] getIdentity() {
+    return identity;
+  }
+
+  byte[] getGzip() {
+    return gzip;
+  }
+
+  /**
+   * Sends this response, compressed if the client accepts gzip, or a 304 if the client's
+   * If-None-Match already names this version.
+   */
+  void send(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    boolean useGzip = acceptsGzip(request.getHeader("Accept-Encoding"));
+    response.setHeader("ETag", useGzip ? gzipEtag : etag);
+    response.setHeader("Vary", "Accept-Encoding");
+    // Clients may keep the response but must check it is still current before using it.
+    response.setHeader("Cache-Control", "no-cache");
+
+    if (matches(request.getHeader("If-None-Match"))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    byte[] body = useGzip ? gzip : identity;
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    if (useGzip) {
+      response.setHeader("Content-Encoding", "gzip");
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  /**
+   * Returns true if the If-None-Match header {@code ifNoneMatch} names either representation of
+   * this version. As the header requires, weak tags match too.
+   */
+  boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if the Accept-Encoding header {@code acceptEncoding} allows gzip.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+        continue;
+      }
+      boolean refused = false;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].replace(" ", "");
+        refused |= parameter.matches("q=0(\\.0{0,3})?");
+      }
+      return !refused;
+    }
+    return false;
+  }
+}
@@ -14,14 +14,25 @@
 
 package com.google.sps.servlets;
 
+import com.google.sps.BatchMeetingQuery;
+import com.google.sps.CalendarJson;
+import com.google.sps.EventIndex;
+import com.google.sps.EventStore;
 import com.google.sps.Events;
 import com.google.sps.FindMeetingQuery;
 import com.google.sps.MeetingRequest;
+import com.google.sps.QueryResultCache;
 import com.google.sps.TimeRange;
-import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -29,23 +40,121 @@ import javax.servlet.http.HttpServletResponse;
 
 @WebServlet("/query")
 public class QueryServlet extends HttpServlet {
+  // The live events. Every request answers from one snapshot, so writes published while it runs
+  // neither block it nor change its answer halfway through.
+  static final EventStore EVENT_STORE = new EventStore(Arrays.asList(Events.events));
+
+  // Answers to recent single requests. Keys include the index version, so answers computed from
+  // older events are never served.
+  static final QueryResultCache RESULT_CACHE = new QueryResultCache(1024, 60_000);
+
+  private static final Type MEETING_REQUEST_LIST =
+      new TypeToken<List<MeetingRequest>>() {}.getType();
+
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
+    // Optional ?limit=N&after=M: only the first N slots that start at or after minute M.
+    int limit = parseParameter(request, "limit", Integer.MAX_VALUE);
+    int after = parseParameter(request, "after", TimeRange.START_OF_DAY);
+    if (limit < 0 || after < 0) {
+      response.sendError(
+          HttpServletResponse.SC_BAD_REQUEST, "limit and after must be non-negative integers");
+      return;
+    }
+    boolean windowed = limit != Integer.MAX_VALUE || after != TimeRange.START_OF_DAY;
 
-    // Convert the JSON to an instance of MeetingRequest.
-    MeetingRequest meetingRequest = gson.fromJson(request.getReader(), MeetingRequest.class);
+    // Optional ?quorum=K: slots where at least K of the attendees are free, not all of them.
+    boolean quorumMode = request.getParameter("quorum") != null;
+    int quorum = parseParameter(request, "quorum", 0);
+    if (quorum < 0) {
+      response.sendError(
+          HttpServletResponse.SC_BAD_REQUEST, "quorum must be a non-negative integer");
+      return;
+    }
+    EventIndex index = EVENT_STORE.snapshot().getIndex();
 
-    // Find the possible meeting times.
-    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
-    Collection<TimeRange> answer =
-        findMeetingQuery.query(Arrays.asList(Events.events), meetingRequest);
+    // The body is either a single MeetingRequest or an array of them (batch mode). Peek at the
+    // first token to tell them apart, then read the rest straight off the stream.
+    JsonReader body = CalendarJson.GSON.newJsonReader(request.getReader());
+    boolean batch = body.peek() == JsonToken.BEGIN_ARRAY;
+
+    Object answer;
+    if (quorumMode) {
+      // Optional attendees play no part; the quorum counts the attendees only.
+      List<MeetingRequest> meetingRequests = batch
+          ? CalendarJson.GSON.fromJson(body, MEETING_REQUEST_LIST)
+          : Collections.singletonList(CalendarJson.GSON.fromJson(body, MeetingRequest.class));
+      FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+      List<List<TimeRange>> answers = new ArrayList<>();
+      for (MeetingRequest meetingRequest : meetingRequests) {
+        answers.add(FindMeetingQuery.firstSlots(
+            findMeetingQuery.queryQuorum(index, meetingRequest, quorum),
+            meetingRequest.getDuration(), after, limit));
+      }
+      answer = batch ? answers : answers.get(0);
+    } else if (batch) {
+      // Answer every request in parallel, keeping the input order.
+      List<MeetingRequest> meetingRequests = CalendarJson.GSON.fromJson(body, MEETING_REQUEST_LIST);
+      List<Collection<TimeRange>> answers =
+          new BatchMeetingQuery().query(index, meetingRequests);
+      if (windowed) {
+        for (int i = 0; i < answers.size(); i++) {
+          answers.set(i, FindMeetingQuery.firstSlots(
+              answers.get(i), meetingRequests.get(i).getDuration(), after, limit));
+        }
+      }
+      answer = answers;
+    } else if (windowed) {
+      MeetingRequest meetingRequest = CalendarJson.GSON.fromJson(body, MeetingRequest.class);
+      if (meetingRequest.getOptionalAttendees().isEmpty()) {
+        // Stop merging calendars as soon as enough slots have been found.
+        answer = new FindMeetingQuery()
+            .query(index, meetingRequest, after, limit);
+      } else {
+        answer = FindMeetingQuery.firstSlots(
+            answer(index, meetingRequest), meetingRequest.getDuration(), after, limit);
+      }
+    } else {
+      // Convert the JSON to an instance of MeetingRequest.
+      MeetingRequest meetingRequest = CalendarJson.GSON.fromJson(body, MeetingRequest.class);
 
-    // Convert the times to JSON
-    String jsonResponse = gson.toJson(answer);
+      // Find the possible meeting times, unless the same request was answered recently.
+      long version = index.getVersion();
+      Collection<TimeRange> cached = RESULT_CACHE.getIfPresent(meetingRequest, version);
+      if (cached != null) {
+        answer = cached;
+      } else {
+        answer = RESULT_CACHE.put(meetingRequest, version, answer(index, meetingRequest));
+      }
+      response.setHeader("X-Cache", cached != null ? "HIT" : "MISS");
+    }
 
-    // Send the JSON back as the response
+    // Stream the times back as JSON
     response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    CalendarJson.write(answer, response.getWriter());
+  }
+
+  /**
+   * Returns the integer query parameter {@code name}, {@code defaultValue} if it is absent, or -1
+   * if it is not an integer.
+   */
+  private static int parseParameter(HttpServletRequest request, String name, int defaultValue) {
+    String value = request.getParameter(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static Collection<TimeRange> answer(EventIndex index, MeetingRequest meetingRequest) {
+    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+    if (meetingRequest.getOptionalAttendees().isEmpty()) {
+      return findMeetingQuery.query(index, meetingRequest);
+    }
+    return findMeetingQuery.queryWithOptionalAttendees(index, meetingRequest);
   }
 }
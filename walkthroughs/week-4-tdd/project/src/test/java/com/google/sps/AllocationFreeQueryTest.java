@@ -0,0 +1,71 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AllocationFreeQueryTest {
+  private static final String PERSON_A = "Person A";
+
+  @Test
+  public void matchesQueryOnGeneratedCalendars() {
+    CalendarGenerator generator = new CalendarGenerator(40, 5);
+    EventIndex index = new EventIndex(generator.generate());
+    List<String> people = generator.getPeople();
+    FindMeetingQuery query = new FindMeetingQuery();
+    TimeRangeColumns out = new TimeRangeColumns();
+
+    for (int groupSize = 1; groupSize <= people.size(); groupSize += 3) {
+      for (int duration : new int[] {0, 15, 30, 60, 240}) {
+        List<String> group = new ArrayList<>(people.subList(0, groupSize));
+        MeetingRequest request = new MeetingRequest(group, duration);
+
+        query.query(index, group, duration, out);
+
+        Assert.assertEquals(new ArrayList<>(query.query(index, request)), out.asList());
+      }
+    }
+  }
+
+  @Test
+  public void edgeCasesMatchQuery() {
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartDuration(60, 30), Arrays.asList(PERSON_A)));
+    FindMeetingQuery query = new FindMeetingQuery();
+    TimeRangeColumns out = new TimeRangeColumns();
+    out.add(TimeRange.WHOLE_DAY);
+
+    query.query(index, Collections.emptyList(), 30, out);
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), out.asList());
+
+    query.query(index, Arrays.asList(PERSON_A), 24 * 60 + 1, out);
+    Assert.assertEquals(Collections.emptyList(), out.asList());
+
+    // Not a RandomAccess list, so the attendees are iterated.
+    query.query(index, Collections.singleton(PERSON_A), 30, out);
+    Assert.assertEquals(
+        new ArrayList<>(query.query(index, new MeetingRequest(Arrays.asList(PERSON_A), 30))),
+        out.asList());
+  }
+}
@@ -0,0 +1,101 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeDictionaryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final TimeRange WHEN = TimeRange.fromStartDuration(480, 30);
+
+  @Test
+  public void internIsStable() {
+    AttendeeDictionary dictionary = new AttendeeDictionary();
+
+    int a = dictionary.intern(PERSON_A);
+    int b = dictionary.intern(PERSON_B);
+
+    Assert.assertEquals(0, a);
+    Assert.assertEquals(1, b);
+    Assert.assertEquals(a, dictionary.intern(PERSON_A));
+    Assert.assertEquals(PERSON_B, dictionary.nameOf(b));
+    Assert.assertEquals(-1, dictionary.idOf(PERSON_C));
+    Assert.assertArrayEquals(
+        new int[] {0, 1}, dictionary.internAll(Arrays.asList(PERSON_B, PERSON_A, PERSON_B)));
+  }
+
+  @Test
+  public void eventAttendeesBehaveLikeASet() {
+    Event event = new Event("Event", WHEN, Arrays.asList(PERSON_B, PERSON_A, PERSON_B));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(PERSON_A, PERSON_B)), event.getAttendees());
+    Assert.assertTrue(event.getAttendees().contains(PERSON_A));
+    Assert.assertFalse(event.getAttendees().contains(PERSON_C));
+    Assert.assertEquals(new Event("Event", WHEN, Arrays.asList(PERSON_A, PERSON_B)), event);
+  }
+
+  @Test
+  public void sharedAttendees() {
+    Event first = new Event("First", WHEN, Arrays.asList(PERSON_A, PERSON_B));
+    Event second = new Event("Second", WHEN, Arrays.asList(PERSON_B, PERSON_C));
+    Event third = new Event("Third", WHEN, Arrays.asList(PERSON_C));
+
+    Assert.assertTrue(first.sharesAttendeesWith(second));
+    Assert.assertFalse(first.sharesAttendeesWith(third));
+  }
+
+  @Test
+  public void storedEventsAreFilteredById() {
+    EventStore store = new EventStore(Arrays.asList(
+        new Event("Event 1", WHEN, Arrays.asList(PERSON_A)),
+        new Event("Event 2", WHEN, Arrays.asList(PERSON_B, PERSON_C))));
+    EventStore.Snapshot snapshot = store.snapshot();
+
+    BitSet withA = snapshot.idsOf(Arrays.asList(PERSON_A, "Nobody"));
+    BitSet withC = snapshot.idsOf(Arrays.asList(PERSON_C));
+
+    Assert.assertTrue(snapshot.isAttendedByAnyOf(0, withA));
+    Assert.assertFalse(snapshot.isAttendedByAnyOf(1, withA));
+    Assert.assertFalse(snapshot.isAttendedByAnyOf(0, withC));
+    Assert.assertTrue(snapshot.isAttendedByAnyOf(1, withC));
+  }
+
+  @Test
+  public void requestNamesAreNeverInterned() {
+    EventStore store =
+        new EventStore(Arrays.asList(new Event("Event", WHEN, Arrays.asList(PERSON_A))));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_B), 30);
+
+    Collection<TimeRange> actual = new FindMeetingQuery().query(store.snapshot(), request);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), actual);
+    Assert.assertTrue(store.snapshot().idsOf(Arrays.asList(PERSON_B)).isEmpty());
+    // The name only gets an id once a stored event has it.
+    store.add(new Event("Other", WHEN, Arrays.asList(PERSON_B)));
+    Assert.assertFalse(store.snapshot().idsOf(Arrays.asList(PERSON_B)).isEmpty());
+  }
+}
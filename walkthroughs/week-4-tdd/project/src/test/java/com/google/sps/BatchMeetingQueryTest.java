@@ -0,0 +1,61 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BatchMeetingQueryTest {
+  @Test
+  public void answersMatchSingleQueriesInInputOrder() {
+    EventIndex index = new EventIndex(Arrays.asList(Events.events));
+    FindMeetingQuery single = new FindMeetingQuery();
+
+    List<MeetingRequest> requests = new ArrayList<>();
+    List<Collection<TimeRange>> expected = new ArrayList<>();
+    int duration = 15;
+    for (String first : index.getAttendees()) {
+      for (String second : index.getAttendees()) {
+        MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), duration);
+        requests.add(request);
+        expected.add(single.query(index, request));
+        duration = duration % 120 + 15;
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Assert.assertEquals(expected, new BatchMeetingQuery(pool).query(index, requests));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void emptyBatch() {
+    EventIndex index = new EventIndex(Arrays.asList(Events.events));
+
+    Assert.assertEquals(Arrays.asList(), new BatchMeetingQuery().query(index, Arrays.asList()));
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BitsetEngineTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  @Test
+  public void minuteGranularityMatchesSweepLine() {
+    EventIndex index = new EventIndex(Arrays.asList(Events.events));
+    FindMeetingQuery query = new FindMeetingQuery();
+    AvailabilityEngine sweepLine = new SweepLineEngine();
+    AvailabilityEngine bitset = new BitsetEngine();
+
+    for (String first : index.getAttendees()) {
+      for (String second : index.getAttendees()) {
+        for (int duration : new int[] {0, 15, 30, 60, 120}) {
+          MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), duration);
+          Assert.assertEquals(
+              query.query(index, request, sweepLine), query.query(index, request, bitset));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void coarseGranularityRoundsBusyTimeOutwards() {
+    // Busy 08:10 - 08:20 at 15 minute granularity blocks the whole 08:00 - 08:30 window.
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartDuration(490, 10), Arrays.asList(PERSON_A)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+
+    Collection<TimeRange> actual =
+        new FindMeetingQuery().query(index, request, new BitsetEngine(15));
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(TimeRange.START_OF_DAY, 480, false),
+        TimeRange.fromStartEnd(510, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void wordBoundariesAreHandled() {
+    // 64 and 128 are word boundaries at minute granularity.
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartEnd(63, 128, false), Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(192, 1440, false), Arrays.asList(PERSON_B)));
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 1);
+
+    Collection<TimeRange> actual = new FindMeetingQuery().query(index, request, new BitsetEngine());
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(0, 63, false), TimeRange.fromStartEnd(128, 192, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void masksAreBuiltOncePerAttendee() {
+    Event first =
+        new Event("Event 1", TimeRange.fromStartDuration(60, 30), Arrays.asList(PERSON_A));
+    Event second =
+        new Event("Event 2", TimeRange.fromStartDuration(120, 30), Arrays.asList(PERSON_B));
+    EventIndex index = EventIndex.of(first, second);
+
+    AvailabilityMask mask = index.getMask(PERSON_A, 1);
+    Assert.assertSame(mask, index.getMask(PERSON_A, 1));
+    Assert.assertNotSame(mask, index.getMask(PERSON_A, 15));
+    Assert.assertNull(index.getMask("Person C", 1));
+
+    // A change only rebuilds the masks of the people it touches.
+    AvailabilityMask maskB = index.getMask(PERSON_B, 1);
+    EventIndex changed = index.withEvent(
+        new Event("Event 3", TimeRange.fromStartDuration(300, 30), Arrays.asList(PERSON_B)));
+    Assert.assertSame(mask, changed.getMask(PERSON_A, 1));
+    Assert.assertNotSame(maskB, changed.getMask(PERSON_B, 1));
+    Assert.assertSame(maskB, index.getMask(PERSON_B, 1));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 30);
+    FindMeetingQuery query = new FindMeetingQuery();
+    Assert.assertEquals(query.query(changed, request, new SweepLineEngine()),
+        query.query(changed, request, new BitsetEngine()));
+    Assert.assertEquals(query.query(changed.withoutEvent(first), request, new SweepLineEngine()),
+        query.query(changed.withoutEvent(first), request, new BitsetEngine()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void granularityMustDivideTheDay() {
+    new BitsetEngine(7);
+  }
+}
@@ -0,0 +1,188 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BusyHistogramTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+  private static final int TIME_1100AM = TimeRange.getTimeInMinutes(11, 0);
+  private static final int TIME_1200PM = TimeRange.getTimeInMinutes(12, 0);
+
+  private static List<TimeRange> ranges(TimeRange... ranges) {
+    return Arrays.asList(ranges);
+  }
+
+  @Test
+  public void overlappingEventsCountAPersonOnce() {
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1200PM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B)));
+    List<List<TimeRange>> busy = Arrays.asList(index.getBusy(PERSON_A), index.getBusy(PERSON_B));
+
+    int[] counts = BusyHistogram.countBusy(busy);
+
+    Assert.assertEquals(TimeRange.WHOLE_DAY.duration(), counts.length);
+    Assert.assertEquals(0, counts[TIME_0900AM - 1]);
+    Assert.assertEquals(1, counts[TIME_0900AM]);
+    Assert.assertEquals(2, counts[TIME_1000AM]);
+    Assert.assertEquals(1, counts[TIME_1100AM]);
+    Assert.assertEquals(0, counts[TIME_1200PM]);
+  }
+
+  @Test
+  public void rangesEndingAtMidnightAreCounted() {
+    int[] counts = BusyHistogram.countBusy(
+        Collections.singletonList(ranges(TimeRange.fromStartEnd(TIME_1200PM, 24 * 60, false))));
+
+    Assert.assertEquals(1, counts[counts.length - 1]);
+  }
+
+  @Test
+  public void runLengthsCoverTheDay() {
+    int[] counts = BusyHistogram.countBusy(Arrays.asList(
+        ranges(TimeRange.fromStartEnd(TIME_0900AM, TIME_1100AM, false)),
+        ranges(TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false))));
+
+    List<BusyHistogram.Run> expected = Arrays.asList(
+        new BusyHistogram.Run(TimeRange.START_OF_DAY, TIME_0900AM, 0),
+        new BusyHistogram.Run(TIME_0900AM, TIME_1000AM, 1),
+        new BusyHistogram.Run(TIME_1000AM, TIME_1100AM, 2),
+        new BusyHistogram.Run(TIME_1100AM, 24 * 60, 0));
+
+    Assert.assertEquals(expected, BusyHistogram.runLengths(counts));
+  }
+
+  @Test
+  public void runsSerializeCompactly() {
+    String json = CalendarJson.GSON.toJson(
+        BusyHistogram.runLengths(BusyHistogram.countBusy(Collections.emptyList())));
+
+    Assert.assertEquals("[{\"start\":0,\"end\":1440,\"busy\":0}]", json);
+  }
+
+  @Test
+  public void quorumLetsSomeoneMissTheMeeting() {
+    // Nobody but Person C can make 10-11, so the full group has no slot in that hour but two out of
+    // three do.
+    List<List<TimeRange>> busy = Arrays.asList(
+        ranges(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1000AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM, 24 * 60, false)),
+        ranges(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_1000AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM, 24 * 60, false)),
+        ranges(TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false)));
+
+    Assert.assertEquals(Collections.emptyList(), BusyHistogram.quorumSlots(busy, 3, 30));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false)),
+        BusyHistogram.quorumSlots(busy, 2, 30));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.WHOLE_DAY), BusyHistogram.quorumSlots(busy, 1, 30));
+  }
+
+  @Test
+  public void impossibleQuorumFindsNothing() {
+    List<List<TimeRange>> busy = Arrays.asList(ranges(), ranges());
+
+    Assert.assertEquals(Collections.emptyList(), BusyHistogram.quorumSlots(busy, 3, 30));
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), BusyHistogram.quorumSlots(busy, 0, 30));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeQuorumIsRejected() {
+    BusyHistogram.quorumSlots(Collections.emptyList(), -1, 30);
+  }
+
+  @Test
+  public void fullQuorumMatchesQuery() {
+    Random random = new Random(7);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C);
+    for (int round = 0; round < 200; round++) {
+      List<Event> events = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        int start = random.nextInt(24 * 60);
+        int duration = 1 + random.nextInt(180);
+        events.add(new Event("Event " + i,
+            TimeRange.fromStartEnd(start, Math.min(24 * 60, start + duration), false),
+            Arrays.asList(people.get(random.nextInt(people.size())))));
+      }
+      EventIndex index = new EventIndex(events);
+      MeetingRequest request = new MeetingRequest(people, 1 + random.nextInt(90));
+
+      FindMeetingQuery query = new FindMeetingQuery();
+      Assert.assertEquals(
+          new ArrayList<>(query.query(index, request)), query.queryQuorum(index, request, 3));
+    }
+  }
+
+  @Test
+  public void quorumSlotsHaveEnoughFreePeople() {
+    Random random = new Random(11);
+    for (int round = 0; round < 100; round++) {
+      List<List<TimeRange>> busy = new ArrayList<>();
+      for (int person = 0; person < 5; person++) {
+        List<TimeRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          int start = random.nextInt(24 * 60);
+          ranges.add(TimeRange.fromStartEnd(start, Math.min(24 * 60, start + 60), false));
+        }
+        Collections.sort(ranges, TimeRange.ORDER_BY_START);
+        busy.add(SweepLineMerger.mergeSorted(ranges));
+      }
+      int quorum = 1 + random.nextInt(5);
+
+      // Brute force: a minute belongs to a slot exactly when enough people are free during it.
+      boolean[] expected = new boolean[24 * 60];
+      for (int minute = 0; minute < expected.length; minute++) {
+        int free = 0;
+        for (List<TimeRange> ranges : busy) {
+          boolean isBusy = false;
+          for (TimeRange range : ranges) {
+            isBusy |= range.contains(minute);
+          }
+          free += isBusy ? 0 : 1;
+        }
+        expected[minute] = free >= quorum;
+      }
+      boolean[] actual = new boolean[24 * 60];
+      for (TimeRange slot : BusyHistogram.quorumSlots(busy, quorum, 0)) {
+        for (int minute = slot.start(); minute < slot.end(); minute++) {
+          actual[minute] = true;
+        }
+      }
+
+      Assert.assertArrayEquals(expected, actual);
+    }
+  }
+}
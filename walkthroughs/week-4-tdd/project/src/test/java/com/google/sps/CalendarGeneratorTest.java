@@ -0,0 +1,170 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarGeneratorTest {
+  @Test
+  public void sameSeedSameCalendar() {
+    List<Event> first = new CalendarGenerator(200, 7).generate(3);
+    List<Event> second = new CalendarGenerator(200, 7).generate(3);
+
+    Assert.assertEquals(first, second);
+    Assert.assertNotEquals(first, new CalendarGenerator(200, 8).generate(3));
+    Assert.assertNotEquals(first, new CalendarGenerator(200, 7).generate(4));
+  }
+
+  @Test
+  public void eventsFitTheDayAndOrganisation() {
+    CalendarGenerator generator = new CalendarGenerator(500, 1);
+    int largest = 0;
+    for (Event event : generator.generate()) {
+      Assert.assertTrue(TimeRange.WHOLE_DAY.contains(event.getWhen()));
+      Assert.assertTrue(generator.getPeople().containsAll(event.getAttendees()));
+      if (!event.getTitle().equals("All hands")) {
+        largest = Math.max(largest, event.getAttendees().size());
+      }
+    }
+
+    // The heavy tail should produce at least one meeting much larger than a team.
+    Assert.assertTrue(largest > 8);
+    Assert.assertEquals(8, generator.getTeamOf("Person 10").size());
+    Assert.assertTrue(generator.getTeamOf("Person 10").contains("Person 8"));
+  }
+
+  @Test
+  public void codecRoundTrip() throws IOException {
+    List<Event> events = new CalendarGenerator(300, 5).generate();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    CalendarCodec.write(events, out);
+    List<Event> read = CalendarCodec.read(new ByteArrayInputStream(out.toByteArray()));
+
+    Assert.assertEquals(events, read);
+  }
+
+  @Test
+  public void codecLeavesTrailingDataUnread() throws IOException {
+    List<Event> events = new CalendarGenerator(30, 2).generate();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarCodec.write(events, out);
+    out.write(new byte[] {42, 43});
+
+    ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+    Assert.assertEquals(events, CalendarCodec.read(in));
+    Assert.assertEquals(42, in.read());
+    Assert.assertEquals(43, in.read());
+  }
+
+  @Test
+  public void codecRefusesToWriteWhatItCannotRead() throws IOException {
+    for (TimeRange when : new TimeRange[] {
+        TimeRange.fromStartDuration(-5, 30), TimeRange.fromStartDuration(60, -1)}) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try {
+        CalendarCodec.write(Arrays.asList(new Event("Event", when, Arrays.asList("A"))), out);
+        Assert.fail("Wrote " + when);
+      } catch (IllegalArgumentException expected) {
+        Assert.assertEquals(0, out.size());
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void codecRejectsOtherStreams() throws IOException {
+    CalendarCodec.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4}));
+  }
+
+  @Test
+  public void codecRejectsBadCounts() {
+    // "CAL1", then a name count of -1 and of Integer.MAX_VALUE with no names after it.
+    byte[] negative = {0x43, 0x41, 0x4C, 0x31, -1, -1, -1, -1, 0x0F};
+    byte[] huge = {0x43, 0x41, 0x4C, 0x31, -1, -1, -1, -1, 0x07};
+    // No names, one event whose title is name 5.
+    byte[] badName = {0x43, 0x41, 0x4C, 0x31, 0, 1, 5, 0, 0, 0};
+
+    for (byte[] stream : new byte[][] {negative, huge, badName}) {
+      try {
+        CalendarCodec.read(new ByteArrayInputStream(stream));
+        Assert.fail("Read a corrupt stream");
+      } catch (IOException expected) {
+        // The documented failure.
+      }
+    }
+  }
+
+  @Test
+  public void codecOnlyThrowsIOExceptionOnCorruptInput() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CalendarCodec.write(new CalendarGenerator(20, 4).generate(), out);
+    byte[] encoded = out.toByteArray();
+
+    // Every truncation fails cleanly.
+    for (int length = 0; length < encoded.length; length++) {
+      try {
+        CalendarCodec.read(new ByteArrayInputStream(Arrays.copyOf(encoded, length)));
+        Assert.fail("Read a stream truncated to " + length + " bytes");
+      } catch (IOException expected) {
+        // The documented failure.
+      }
+    }
+
+    // Corrupted bytes either still decode or fail with an IOException, never anything else.
+    Random random = new Random(9);
+    for (int round = 0; round < 2000; round++) {
+      byte[] corrupt = encoded.clone();
+      corrupt[4 + random.nextInt(corrupt.length - 4)] = (byte) random.nextInt(256);
+      try {
+        CalendarCodec.read(new ByteArrayInputStream(corrupt));
+      } catch (IOException expected) {
+        // The documented failure.
+      }
+    }
+  }
+
+  @Test
+  public void enginesAgreeOnGeneratedCalendar() {
+    CalendarGenerator generator = new CalendarGenerator(400, 9);
+    List<Event> events = generator.generate();
+    EventIndex index = new EventIndex(events);
+    EventStore.Snapshot snapshot = new EventStore(events).snapshot();
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    for (int person = 0; person < 400; person += 37) {
+      List<String> group = new ArrayList<>(generator.getTeamOf("Person " + person));
+      group.add("Person " + (399 - person));
+      MeetingRequest request = new MeetingRequest(group, 30);
+
+      List<TimeRange> expected = new ArrayList<>(query.query(events, request));
+      Assert.assertEquals(expected, query.query(index, request));
+      Assert.assertEquals(expected, query.query(snapshot, request));
+      Assert.assertEquals(expected, query.query(index, request, new BitsetEngine()));
+      Assert.assertEquals(expected, query.query(index, request, new ColumnarEngine()));
+    }
+  }
+}
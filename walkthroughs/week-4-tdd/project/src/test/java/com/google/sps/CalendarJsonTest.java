@@ -0,0 +1,72 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarJsonTest {
+  @Test
+  public void matchesReflectiveFormat() throws IOException {
+    StringWriter out = new StringWriter();
+
+    CalendarJson.write(Events.events, out);
+
+    Assert.assertEquals(new Gson().toJson(Events.events) + "\n", out.toString());
+  }
+
+  @Test
+  public void eventsRoundTrip() {
+    String json = CalendarJson.GSON.toJson(Events.events);
+
+    Event[] read = CalendarJson.GSON.fromJson(json, Event[].class);
+
+    Assert.assertArrayEquals(Events.events, read);
+  }
+
+  @Test
+  public void readsMeetingRequestsFromTheFrontEnd() {
+    String json = "[{\"duration\": \"30\", \"attendees\": [\"Ada\", \"Brian\"], \"unknown\": {}},"
+        + " {\"attendees\": [\"Ada\"], \"optionalAttendees\": [\"Clara\"], \"duration\": 60}]";
+
+    List<MeetingRequest> requests = CalendarJson.GSON.fromJson(
+        json, new TypeToken<List<MeetingRequest>>() {}.getType());
+
+    Assert.assertEquals(30, requests.get(0).getDuration());
+    Assert.assertEquals(new HashSet<>(Arrays.asList("Ada", "Brian")),
+        new HashSet<>(requests.get(0).getAttendees()));
+    Assert.assertTrue(requests.get(0).getOptionalAttendees().isEmpty());
+    Assert.assertEquals(Arrays.asList("Clara"),
+        Arrays.asList(requests.get(1).getOptionalAttendees().toArray()));
+  }
+
+  @Test
+  public void writesTimeRanges() {
+    List<TimeRange> ranges = Arrays.asList(TimeRange.fromStartDuration(480, 30));
+
+    Assert.assertEquals("[{\"start\":480,\"duration\":30}]", CalendarJson.GSON.toJson(ranges));
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ConflictFinderTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  @Test
+  public void reportsOverlappingEventsOfSharedAttendees() {
+    Event early = new Event("Early", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A));
+    Event other = new Event("Other", TimeRange.fromStartDuration(500, 60), Arrays.asList(PERSON_B));
+    Event late = new Event("Late", TimeRange.fromStartDuration(540, 60), Arrays.asList(PERSON_A));
+    ConflictFinder finder = new ConflictFinder(Arrays.asList(early, other, late));
+
+    Event proposed =
+        new Event("Proposed", TimeRange.fromStartDuration(510, 15), Arrays.asList(PERSON_A));
+
+    Assert.assertEquals(Arrays.asList(early), finder.findConflicts(proposed));
+  }
+
+  @Test
+  public void eventDoesNotConflictWithItself() {
+    Event event = new Event("Event", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A));
+    ConflictFinder finder = new ConflictFinder(Arrays.asList(event));
+
+    Assert.assertEquals(Arrays.asList(), finder.findConflicts(event));
+  }
+
+  @Test
+  public void treeMatchesLinearScan() {
+    Random random = new Random(1);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      // Include empty ranges, which only overlap ranges containing their start.
+      TimeRange when = TimeRange.fromStartDuration(random.nextInt(1440), random.nextInt(120));
+      events.add(new Event("Event " + i, when, Arrays.asList(PERSON_A)));
+    }
+    EventIntervalTree tree = new EventIntervalTree(events);
+
+    for (int i = 0; i < 500; i++) {
+      TimeRange range = TimeRange.fromStartDuration(random.nextInt(1440), random.nextInt(90));
+      List<Event> expected = new ArrayList<>();
+      for (Event event : events) {
+        if (event.getWhen().overlaps(range)) {
+          expected.add(event);
+        }
+      }
+
+      Assert.assertEquals(new HashSet<>(expected), new HashSet<>(tree.overlapping(range)));
+    }
+  }
+}
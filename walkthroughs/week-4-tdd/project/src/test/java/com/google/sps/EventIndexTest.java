@@ -0,0 +1,61 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventIndexTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  @Test
+  public void rangesAreGroupedByAttendeeAndSorted() {
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(300, 30),
+            Arrays.asList(PERSON_A, PERSON_B)));
+
+    List<TimeRange> expectedA =
+        Arrays.asList(TimeRange.fromStartDuration(300, 30), TimeRange.fromStartDuration(600, 30));
+    List<TimeRange> expectedB = Arrays.asList(TimeRange.fromStartDuration(300, 30));
+
+    Assert.assertEquals(expectedA, index.getRanges(PERSON_A));
+    Assert.assertEquals(expectedB, index.getRanges(PERSON_B));
+    Assert.assertEquals(Arrays.asList(), index.getRanges(PERSON_C));
+  }
+
+  @Test
+  public void indexedQueryMatchesEventScan() {
+    Collection<Event> events = Arrays.asList(Events.events);
+    EventIndex index = new EventIndex(events);
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    for (String first : index.getAttendees()) {
+      for (String second : index.getAttendees()) {
+        MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), 30);
+        Assert.assertEquals(query.query(events, request), query.query(index, request));
+      }
+    }
+  }
+}
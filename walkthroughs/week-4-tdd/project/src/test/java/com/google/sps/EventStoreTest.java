@@ -0,0 +1,137 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventStoreTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(0, 30), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(60, 30), Arrays.asList(PERSON_A, PERSON_B));
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullEventsAreRejected() {
+    new EventStore(null);
+  }
+
+  @Test
+  public void writesPublishNewVersions() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1));
+    EventStore.Snapshot first = store.snapshot();
+
+    EventStore.Snapshot second = store.add(EVENT_2);
+
+    Assert.assertTrue(second.getVersion() > first.getVersion());
+    Assert.assertSame(second, store.snapshot());
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), second.getEvents());
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(60, 30)), second.getIndex().getRanges(PERSON_B));
+  }
+
+  @Test
+  public void oldSnapshotsNeverChange() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1));
+    EventStore.Snapshot first = store.snapshot();
+
+    store.add(EVENT_2);
+    store.remove(EVENT_1);
+
+    Assert.assertEquals(Arrays.asList(EVENT_1), first.getEvents());
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartDuration(0, 30)), first.getIndex().getRanges(PERSON_A));
+    Assert.assertEquals(Collections.emptyList(), first.getIndex().getRanges(PERSON_B));
+    Assert.assertEquals(Arrays.asList(EVENT_2), store.snapshot().getEvents());
+  }
+
+  @Test
+  public void removingAMissingEventKeepsTheVersion() {
+    EventStore store = new EventStore(Arrays.asList(EVENT_1));
+    EventStore.Snapshot first = store.snapshot();
+
+    Assert.assertSame(first, store.remove(EVENT_2));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void snapshotEventsAreReadOnly() {
+    new EventStore(Arrays.asList(EVENT_1)).snapshot().getEvents().clear();
+  }
+
+  @Test
+  public void readersSeeWholeWritesOnly() throws InterruptedException {
+    // Every write adds one event for both people, so in any consistent snapshot both calendars and
+    // the event list have the same size, and versions only go up.
+    EventStore store = new EventStore(Collections.emptyList());
+    int writes = 500;
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicReference<String> failure = new AtomicReference<>();
+
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread reader = new Thread(() -> {
+        long lastVersion = 0;
+        while (done.getCount() > 0) {
+          EventStore.Snapshot snapshot = store.snapshot();
+          int events = snapshot.getEvents().size();
+          if (snapshot.getIndex().getRanges(PERSON_A).size() != events
+              || snapshot.getIndex().getRanges(PERSON_B).size() != events
+              || snapshot.getVersion() < lastVersion) {
+            failure.set("Inconsistent snapshot at version " + snapshot.getVersion());
+          }
+          lastVersion = snapshot.getVersion();
+        }
+      });
+      reader.start();
+      readers.add(reader);
+    }
+
+    List<Thread> writers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      int writer = i;
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < writes; j++) {
+          store.add(new Event("Event " + writer + "-" + j, TimeRange.fromStartDuration(j, 1),
+              Arrays.asList(PERSON_A, PERSON_B)));
+        }
+      });
+      thread.start();
+      writers.add(thread);
+    }
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    done.countDown();
+    for (Thread reader : readers) {
+      reader.join();
+    }
+
+    Assert.assertNull(failure.get());
+    Assert.assertEquals(2 * writes, store.snapshot().getEvents().size());
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class FreeSlotTrackerTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final List<String> GROUP = Arrays.asList(PERSON_A, PERSON_B);
+
+  @Test
+  public void emptyTrackerIsFreeAllDay() {
+    FreeSlotTracker tracker = new FreeSlotTracker(GROUP);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), tracker.getVacantSlots(30));
+    Assert.assertEquals(Arrays.asList(), tracker.getBusy());
+  }
+
+  @Test
+  public void addSplicesAndRemoveRestores() {
+    FreeSlotTracker tracker = new FreeSlotTracker(GROUP);
+    Event first = new Event("First", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A));
+    Event second =
+        new Event("Second", TimeRange.fromStartDuration(600, 60), Arrays.asList(PERSON_B));
+    Event bridge =
+        new Event("Bridge", TimeRange.fromStartEnd(540, 600, false), Arrays.asList(PERSON_A));
+    Event outsider =
+        new Event("Outsider", TimeRange.fromStartDuration(0, 60), Arrays.asList(PERSON_C));
+
+    Assert.assertTrue(tracker.add(first));
+    Assert.assertTrue(tracker.add(second));
+    Assert.assertFalse(tracker.add(outsider));
+    Assert.assertTrue(tracker.add(bridge));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(480, 660, false)), tracker.getBusy());
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(0, 480, false),
+        TimeRange.fromStartEnd(660, TimeRange.END_OF_DAY, true)), tracker.getVacantSlots(30));
+
+    Assert.assertTrue(tracker.remove(bridge));
+    Assert.assertFalse(tracker.remove(bridge));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(0, 480, false),
+        TimeRange.fromStartEnd(540, 600, false),
+        TimeRange.fromStartEnd(660, TimeRange.END_OF_DAY, true)), tracker.getVacantSlots(30));
+  }
+
+  @Test
+  public void duplicateEventsAreCountedSeparately() {
+    FreeSlotTracker tracker = new FreeSlotTracker(GROUP);
+    Event event = new Event("Event", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A));
+
+    tracker.add(event);
+    tracker.add(event);
+    tracker.remove(event);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(480, 60)), tracker.getBusy());
+
+    tracker.remove(event);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), tracker.getVacantSlots(0));
+  }
+
+  @Test
+  public void randomUpdatesMatchFullQuery() {
+    Random random = new Random(11);
+    List<String> people = Arrays.asList(PERSON_A, PERSON_B, PERSON_C);
+    MeetingRequest request = new MeetingRequest(GROUP, 30);
+    FreeSlotTracker tracker = new FreeSlotTracker(GROUP);
+    FindMeetingQuery query = new FindMeetingQuery();
+    List<Event> events = new ArrayList<>();
+
+    for (int step = 0; step < 500; step++) {
+      if (!events.isEmpty() && random.nextInt(3) == 0) {
+        tracker.remove(events.remove(random.nextInt(events.size())));
+      } else {
+        int start = random.nextInt(TimeRange.END_OF_DAY);
+        int duration = 1 + random.nextInt(120);
+        Event event = new Event("Event " + step, TimeRange.fromStartDuration(start, duration),
+            Arrays.asList(people.get(random.nextInt(people.size()))));
+        events.add(event);
+        tracker.add(event);
+      }
+
+      Assert.assertEquals(new ArrayList<>(query.query(events, request)),
+          tracker.getVacantSlots(request.getDuration()));
+    }
+  }
+}
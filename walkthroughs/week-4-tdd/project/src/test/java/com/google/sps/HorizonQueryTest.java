@@ -0,0 +1,104 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class HorizonQueryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  // 2020-01-01 and the days after it.
+  private static final long DAY_1 = 18262;
+  private static final long DAY_2 = DAY_1 + 1;
+  private static final long DAY_3 = DAY_1 + 2;
+
+  private static final long MINUTES_PER_DAY = EpochTimeRange.MINUTES_PER_DAY;
+
+  private FindMeetingQuery query;
+
+  @Before
+  public void setUp() {
+    query = new FindMeetingQuery();
+  }
+
+  @Test
+  public void slotsMaySpanMidnight() {
+    // Person A is busy until 22:00 on day 1 and from 02:00 on day 2, leaving four free hours.
+    Map<String, List<EpochTimeRange>> busy = new HashMap<>();
+    busy.put(PERSON_A, Arrays.asList(
+        EpochTimeRange.fromStartEnd(DAY_1 * MINUTES_PER_DAY, DAY_1 * MINUTES_PER_DAY + 1320, false),
+        EpochTimeRange.fromStartEnd(DAY_2 * MINUTES_PER_DAY + 120, DAY_3 * MINUTES_PER_DAY,
+            false)));
+    HorizonIndex index = new HorizonIndex(busy);
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 240);
+    EpochTimeRange window = EpochTimeRange.fromStartEnd(
+        DAY_1 * MINUTES_PER_DAY, DAY_3 * MINUTES_PER_DAY, false);
+
+    Collection<EpochTimeRange> actual = query.queryHorizon(index, request, window);
+    Collection<EpochTimeRange> expected = Arrays.asList(EpochTimeRange.fromStartEnd(
+        DAY_1 * MINUTES_PER_DAY + 1320, DAY_2 * MINUTES_PER_DAY + 120, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void singleDayWindowMatchesDayQuery() {
+    // Spread the sample events over many days and query one of them.
+    Map<Long, Collection<Event>> eventsByDay = new HashMap<>();
+    for (long day = DAY_1 - 1000; day <= DAY_1 + 1000; day++) {
+      eventsByDay.put(day, Arrays.asList(Events.events));
+    }
+    HorizonIndex horizon = HorizonIndex.fromDailyEvents(eventsByDay);
+    EventIndex day = new EventIndex(Arrays.asList(Events.events));
+    EpochTimeRange window = EpochTimeRange.onDay(DAY_1, TimeRange.WHOLE_DAY);
+
+    for (String first : day.getAttendees()) {
+      for (String second : day.getAttendees()) {
+        MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), 30);
+
+        List<EpochTimeRange> expected = new ArrayList<>();
+        for (TimeRange slot : query.query(day, request)) {
+          expected.add(EpochTimeRange.onDay(DAY_1, slot));
+        }
+
+        Assert.assertEquals(expected, query.queryHorizon(horizon, request, window));
+      }
+    }
+  }
+
+  @Test
+  public void durationLongerThanWindowHasNoOptions() {
+    HorizonIndex index = new HorizonIndex(Collections.emptyMap());
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_B), MINUTES_PER_DAY + 1);
+    EpochTimeRange window = EpochTimeRange.onDay(DAY_1, TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(Arrays.asList(), query.queryHorizon(index, request, window));
+  }
+}
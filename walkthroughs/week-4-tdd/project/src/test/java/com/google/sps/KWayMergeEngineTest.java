@@ -0,0 +1,106 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class KWayMergeEngineTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  @Test
+  public void matchesSweepLineOnExampleEvents() {
+    EventIndex index = new EventIndex(Arrays.asList(Events.events));
+    FindMeetingQuery query = new FindMeetingQuery();
+    AvailabilityEngine sweepLine = new SweepLineEngine();
+    AvailabilityEngine kWay = new KWayMergeEngine();
+
+    for (String first : index.getAttendees()) {
+      for (String second : index.getAttendees()) {
+        for (int duration : new int[] {0, 15, 30, 60, 120}) {
+          MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), duration);
+          Assert.assertEquals(
+              query.query(index, request, sweepLine), query.query(index, request, kWay));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void unionMatchesSortAndMerge() {
+    Random random = new Random(3);
+    for (int round = 0; round < 500; round++) {
+      List<List<TimeRange>> busyByAttendee = new ArrayList<>();
+      List<TimeRange> all = new ArrayList<>();
+      int calendars = random.nextInt(6);
+      for (int calendar = 0; calendar < calendars; calendar++) {
+        List<TimeRange> busy = new ArrayList<>();
+        for (int i = random.nextInt(5); i > 0; i--) {
+          int start = random.nextInt(24 * 60);
+          // Some ranges are empty, and some overlap within the same calendar.
+          busy.add(TimeRange.fromStartEnd(
+              start, Math.min(24 * 60, start + random.nextInt(120)), false));
+        }
+        Collections.sort(busy, TimeRange.ORDER_BY_START);
+        busyByAttendee.add(busy);
+        all.addAll(busy);
+      }
+
+      Assert.assertEquals(
+          SweepLineMerger.sortAndMerge(all), KWayMergeEngine.union(busyByAttendee));
+    }
+  }
+
+  @Test
+  public void touchingRangesFromDifferentCalendarsMerge() {
+    List<List<TimeRange>> busyByAttendee = Arrays.asList(
+        Arrays.asList(TimeRange.fromStartEnd(0, 60, false)),
+        Arrays.asList(TimeRange.fromStartEnd(60, 120, false)));
+
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(0, 120, false)),
+        KWayMergeEngine.union(busyByAttendee));
+  }
+
+  @Test
+  public void indexKeepsCalendarsNormalised() {
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartEnd(0, 60, false), Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(30, 90, false), Arrays.asList(PERSON_A)));
+    Assert.assertEquals(
+        Arrays.asList(TimeRange.fromStartEnd(0, 90, false)), index.getBusy(PERSON_A));
+
+    Event late =
+        new Event("Event 3", TimeRange.fromStartEnd(200, 260, false), Arrays.asList(PERSON_A));
+    EventIndex added = index.withEvent(late);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(0, 90, false), TimeRange.fromStartEnd(200, 260, false));
+    Assert.assertEquals(expected, added.getBusy(PERSON_A));
+
+    EventIndex removed = added.withoutEvent(late);
+    Assert.assertEquals(index.getBusy(PERSON_A), removed.getBusy(PERSON_A));
+    Assert.assertEquals(Collections.emptyList(), removed.getBusy(PERSON_B));
+  }
+}
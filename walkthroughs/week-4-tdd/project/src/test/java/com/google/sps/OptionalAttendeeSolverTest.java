@@ -0,0 +1,169 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class OptionalAttendeeSolverTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0830AM = TimeRange.getTimeInMinutes(8, 30);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+  private static final int TIME_0930AM = TimeRange.getTimeInMinutes(9, 30);
+  private static final int TIME_1000AM = TimeRange.getTimeInMinutes(10, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+
+  private FindMeetingQuery query;
+
+  @Before
+  public void setUp() {
+    query = new FindMeetingQuery();
+  }
+
+  @Test
+  public void optionalAttendeeIsConsideredWhenPossible() {
+    // Events  :       |--A--|     |--B--|
+    //                       |--C--|
+    // Day     : |-----------------------------|
+    // Options : |--1--|                 |--2--|
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartDuration(TIME_0830AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest request = new MeetingRequest(
+        Arrays.asList(PERSON_A, PERSON_B), Arrays.asList(PERSON_C), DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = query.queryWithOptionalAttendees(index, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void optionalAttendeeIsIgnoredWhenImpossible() {
+    // Person C is busy all day, so only the mandatory attendees are considered.
+    EventIndex index = EventIndex.of(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_C)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A), Arrays.asList(PERSON_C), DURATION_30_MINUTES);
+
+    Assert.assertEquals(
+        query.query(index, request), query.queryWithOptionalAttendees(index, request));
+  }
+
+  @Test
+  public void matchesExhaustiveSearch() {
+    Random random = new Random(42);
+    for (int round = 0; round < 20; round++) {
+      List<String> optional = new ArrayList<>();
+      List<Event> events = new ArrayList<>();
+      for (int person = 0; person < 10; person++) {
+        String name = "Person " + person;
+        optional.add(name);
+        for (int meeting = 0; meeting < 6; meeting++) {
+          int start = 480 + random.nextInt(600);
+          TimeRange when = TimeRange.fromStartDuration(start, 30 + random.nextInt(90));
+          events.add(new Event("Meeting", when, Arrays.asList(name)));
+        }
+      }
+      EventIndex index = new EventIndex(events);
+      int duration = 30 + random.nextInt(60);
+
+      List<TimeRange> mandatorySlots = SweepLineMerger.vacantSlots(Arrays.asList(), duration);
+      Map<String, List<TimeRange>> optionalBusy = new TreeMap<>();
+      for (String name : optional) {
+        optionalBusy.put(name, index.getBusy(name));
+      }
+      List<String> actual =
+          new OptionalAttendeeSolver().solve(mandatorySlots, optionalBusy, duration);
+
+      Assert.assertEquals(bestGroupSize(index, optional, duration), actual.size());
+    }
+  }
+
+  @Test
+  public void manyOptionalAttendeesFindTheLargestGroup() {
+    // Far too many optional attendees to try every subset. Thirty of them are only free from 09:00
+    // to 10:00 and the other ten are busy right across that hour.
+    List<Event> events = new ArrayList<>();
+    List<String> optional = new ArrayList<>();
+    for (int person = 0; person < 40; person++) {
+      String name = "Optional " + person;
+      optional.add(name);
+      if (person < 30) {
+        events.add(new Event("Morning", TimeRange.fromStartEnd(TimeRange.START_OF_DAY,
+            TIME_0900AM, false), Arrays.asList(name)));
+        events.add(new Event("Afternoon", TimeRange.fromStartEnd(TIME_1000AM,
+            TimeRange.END_OF_DAY, true), Arrays.asList(name)));
+      } else {
+        events.add(new Event("Meeting", TimeRange.fromStartEnd(TIME_0830AM, TIME_1000AM, false),
+            Arrays.asList(name)));
+      }
+    }
+    EventIndex index = new EventIndex(events);
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A), optional, DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = query.queryWithOptionalAttendees(index, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  /** Tries every subset of {@code optional}. Only usable for small groups. */
+  private int bestGroupSize(EventIndex index, List<String> optional, int duration) {
+    int best = 0;
+    for (int mask = 0; mask < (1 << optional.size()); mask++) {
+      List<String> group = new ArrayList<>();
+      for (int i = 0; i < optional.size(); i++) {
+        if ((mask & (1 << i)) != 0) {
+          group.add(optional.get(i));
+        }
+      }
+      if (group.size() > best
+          && !query.query(index, new MeetingRequest(group, duration)).isEmpty()) {
+        best = group.size();
+      }
+    }
+    return best;
+  }
+}
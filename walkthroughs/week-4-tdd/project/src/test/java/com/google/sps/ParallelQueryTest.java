@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ParallelQueryTest {
+  private ForkJoinPool pool;
+
+  @Before
+  public void setUp() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void unionMergesAcrossLists() {
+    List<TimeRange> first = Arrays.asList(
+        TimeRange.fromStartDuration(0, 30), TimeRange.fromStartDuration(100, 50));
+    List<TimeRange> second = Arrays.asList(
+        TimeRange.fromStartDuration(30, 10), TimeRange.fromStartDuration(120, 100));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(0, 40),
+        TimeRange.fromStartEnd(100, 220, false)), SweepLineMerger.union(first, second));
+  }
+
+  @Test
+  public void largeRequestsMatchSequentialAnswers() {
+    CalendarGenerator generator = new CalendarGenerator(3000, 1, 1, 2, 0, 0, 0.2, 14);
+    List<Event> events = generator.generate();
+    EventIndex index = new EventIndex(events);
+    FindMeetingQuery sequential = new FindMeetingQuery();
+    FindMeetingQuery parallel = new FindMeetingQuery(pool, 100);
+
+    for (int size : new int[] {50, 500, 2000}) {
+      List<String> attendees = new ArrayList<>(generator.getPeople().subList(0, size));
+      MeetingRequest request = new MeetingRequest(attendees, 15);
+
+      List<TimeRange> expected = new ArrayList<>(sequential.query(events, request));
+      Assert.assertEquals(expected, sequential.query(index, request));
+      Assert.assertEquals(expected, parallel.query(events, request));
+      Assert.assertEquals(expected, parallel.query(index, request));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void thresholdMustBePositive() {
+    new FindMeetingQuery(pool, 0);
+  }
+}
@@ -0,0 +1,101 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryResultCacheTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicLong computed = new AtomicLong();
+  private final Function<MeetingRequest, Collection<TimeRange>> query = request -> {
+    computed.incrementAndGet();
+    return Arrays.asList(TimeRange.WHOLE_DAY);
+  };
+
+  @Test
+  public void attendeeOrderDoesNotMatter() {
+    QueryResultCache cache = new QueryResultCache(10, 1000, now::get);
+
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 30), 1, query);
+    Collection<TimeRange> answer =
+        cache.get(new MeetingRequest(Arrays.asList(PERSON_B, PERSON_A, PERSON_A), 30), 1, query);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.WHOLE_DAY), answer);
+    Assert.assertEquals(1, computed.get());
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void durationOptionalAttendeesAndVersionAreKeys() {
+    QueryResultCache cache = new QueryResultCache(10, 1000, now::get);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+    MeetingRequest withOptional =
+        new MeetingRequest(Arrays.asList(PERSON_A), Arrays.asList(PERSON_C), 30);
+
+    cache.get(request, 1, query);
+    cache.get(new MeetingRequest(Arrays.asList(PERSON_A), 60), 1, query);
+    cache.get(withOptional, 1, query);
+    cache.get(request, 2, query);
+
+    Assert.assertEquals(4, computed.get());
+    Assert.assertEquals(0, cache.getHits());
+  }
+
+  @Test
+  public void entriesExpire() {
+    QueryResultCache cache = new QueryResultCache(10, 1000, now::get);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+
+    cache.get(request, 1, query);
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    cache.get(request, 1, query);
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    cache.get(request, 1, query);
+
+    Assert.assertEquals(2, computed.get());
+  }
+
+  @Test
+  public void leastRecentlyUsedIsEvicted() {
+    QueryResultCache cache = new QueryResultCache(2, 1000, now::get);
+    MeetingRequest a = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+    MeetingRequest b = new MeetingRequest(Arrays.asList(PERSON_B), 30);
+    MeetingRequest c = new MeetingRequest(Arrays.asList(PERSON_C), 30);
+
+    cache.get(a, 1, query);
+    cache.get(b, 1, query);
+    cache.get(a, 1, query);
+    cache.get(c, 1, query);
+
+    Assert.assertEquals(2, cache.size());
+    Assert.assertNotNull(cache.getIfPresent(a, 1));
+    Assert.assertNull(cache.getIfPresent(b, 1));
+  }
+}
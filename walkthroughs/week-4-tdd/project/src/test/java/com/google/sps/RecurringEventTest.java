@@ -0,0 +1,116 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RecurringEventTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  // 2020-01-06, a Monday.
+  private static final long MONDAY = 18267;
+  private static final long SATURDAY = MONDAY + 5;
+
+  private static final long MINUTES_PER_DAY = EpochTimeRange.MINUTES_PER_DAY;
+
+  private static final Event STAND_UP =
+      new Event("Stand-up", TimeRange.fromStartDuration(570, 15), Arrays.asList(PERSON_A));
+
+  @Test
+  public void rules() {
+    RecurrenceRule weekdays = RecurrenceRule.weekdays(MONDAY);
+    RecurrenceRule fortnightly = RecurrenceRule.everyNDays(MONDAY, 14).until(MONDAY + 28);
+
+    Assert.assertTrue(weekdays.occursOn(MONDAY + 4));
+    Assert.assertFalse(weekdays.occursOn(SATURDAY));
+    Assert.assertFalse(weekdays.occursOn(MONDAY - 1));
+    Assert.assertEquals(MONDAY + 7, weekdays.nextOccurrence(SATURDAY));
+    Assert.assertEquals(MONDAY + 14, fortnightly.nextOccurrence(MONDAY + 1));
+    Assert.assertEquals(Long.MAX_VALUE, fortnightly.nextOccurrence(MONDAY + 29));
+    Assert.assertEquals(Long.MAX_VALUE,
+        RecurrenceRule.weekdays(SATURDAY).until(SATURDAY + 1).nextOccurrence(SATURDAY));
+  }
+
+  @Test
+  public void occurrencesAreClippedToTheWindow() {
+    RecurringEvent event = new RecurringEvent(STAND_UP, RecurrenceRule.weekdays(MONDAY));
+    EpochTimeRange window = EpochTimeRange.fromStartEnd(
+        (MONDAY + 4) * MINUTES_PER_DAY + 575, (MONDAY + 8) * MINUTES_PER_DAY, false);
+
+    // Friday is clipped, the weekend is skipped and Tuesday is outside the window.
+    Assert.assertEquals(Arrays.asList(
+        EpochTimeRange.fromStartEnd(
+            (MONDAY + 4) * MINUTES_PER_DAY + 575, (MONDAY + 4) * MINUTES_PER_DAY + 585, false),
+        EpochTimeRange.onDay(MONDAY + 7, STAND_UP.getWhen())),
+        event.occurrencesWithin(window));
+  }
+
+  @Test
+  public void longSeriesOnlyExpandsTheSearchedWindow() {
+    // A daily series running since 1970 is queried for one day.
+    RecurringEvent event = new RecurringEvent(STAND_UP, RecurrenceRule.daily(0));
+    HorizonIndex index = new HorizonIndex(Collections.emptyMap(), Arrays.asList(event));
+    EpochTimeRange window = EpochTimeRange.onDay(MONDAY, TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(Arrays.asList(EpochTimeRange.onDay(MONDAY, STAND_UP.getWhen())),
+        index.getBusy(PERSON_A, window));
+  }
+
+  @Test
+  public void horizonQueryMatchesMaterialisedOccurrences() {
+    Event oneOnOne = new Event("1:1", TimeRange.fromStartDuration(600, 30),
+        Arrays.asList(PERSON_A, PERSON_B));
+    List<RecurringEvent> recurring = Arrays.asList(
+        new RecurringEvent(STAND_UP, RecurrenceRule.weekdays(MONDAY)),
+        new RecurringEvent(oneOnOne, RecurrenceRule.weekly(MONDAY + 1)));
+    Event lunch =
+        new Event("Lunch", TimeRange.fromStartDuration(720, 60), Arrays.asList(PERSON_B));
+
+    Map<Long, List<Event>> oneOffs = new HashMap<>();
+    Map<Long, List<Event>> materialised = new HashMap<>();
+    for (long day = MONDAY; day < MONDAY + 21; day++) {
+      oneOffs.put(day, Arrays.asList(lunch));
+      List<Event> events = new ArrayList<>(Arrays.asList(lunch));
+      for (RecurringEvent event : recurring) {
+        if (event.getRule().occursOn(day)) {
+          events.add(event.getEvent());
+        }
+      }
+      materialised.put(day, events);
+    }
+
+    HorizonIndex lazy = HorizonIndex.fromDailyEvents(oneOffs, recurring);
+    HorizonIndex eager = HorizonIndex.fromDailyEvents(materialised);
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 60);
+    EpochTimeRange window = EpochTimeRange.fromStartEnd(
+        (MONDAY + 3) * MINUTES_PER_DAY + 600, (MONDAY + 12) * MINUTES_PER_DAY, false);
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    Assert.assertEquals(query.queryHorizon(eager, request, window),
+        query.queryHorizon(lazy, request, window));
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SlotRankerTest {
+  private static final List<TimeRange> SLOTS = Arrays.asList(
+      TimeRange.fromStartEnd(0, 480, false),
+      TimeRange.fromStartEnd(600, 700, false),
+      TimeRange.fromStartEnd(900, TimeRange.END_OF_DAY, true));
+
+  @Test
+  public void withoutScorersEarliestCandidatesWin() {
+    SlotRanker ranker = new SlotRanker(Collections.emptyList());
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(0, 60),
+        TimeRange.fromStartDuration(15, 60)), ranker.topK(SLOTS, 60, 2));
+  }
+
+  @Test
+  public void closestToRequestedTime() {
+    SlotRanker ranker = new SlotRanker(Arrays.asList(SlotScorer.closeTo(650, 1)));
+
+    List<TimeRange> top = ranker.topK(SLOTS, 30, 3);
+
+    // 650 is not a multiple of the step, so 645 and 660 are the nearest candidates.
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(645, 30),
+        TimeRange.fromStartDuration(660, 30), TimeRange.fromStartDuration(630, 30)), top);
+  }
+
+  @Test
+  public void preferredWindowAndFragmentation() {
+    SlotRanker ranker = new SlotRanker(Arrays.asList(
+        SlotScorer.preferWindow(TimeRange.fromStartEnd(540, 1020, false), 10),
+        SlotScorer.avoidFragmentation(30, 1)));
+
+    List<TimeRange> top = ranker.topK(SLOTS, 60, 3);
+
+    // Inside working hours, flush against an edge of the 600-700 slot beats leaving 10 minutes.
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(600, 60),
+        TimeRange.fromStartDuration(640, 60), TimeRange.fromStartDuration(900, 60)), top);
+  }
+
+  @Test
+  public void boundedHeapMatchesFullSort() {
+    Random random = new Random(19);
+    List<TimeRange> slots = new ArrayList<>();
+    for (int start = 0; start < 1400; start += 60 + random.nextInt(60)) {
+      slots.add(TimeRange.fromStartDuration(start, 30 + random.nextInt(60)));
+    }
+    SlotScorer scorer = SlotScorer.closeTo(700, 1);
+    SlotRanker ranker = new SlotRanker(Arrays.asList(scorer), 5);
+
+    List<TimeRange> all = ranker.topK(slots, 30, Integer.MAX_VALUE - 1);
+    List<TimeRange> sorted = new ArrayList<>(all);
+    Collections.sort(sorted, Comparator.<TimeRange>comparingDouble(c -> -scorer.score(c, c))
+        .thenComparing(TimeRange.ORDER_BY_START));
+
+    Assert.assertEquals(sorted, all);
+    Assert.assertEquals(sorted.subList(0, 7), ranker.topK(slots, 30, 7));
+  }
+
+  @Test
+  public void nothingFits() {
+    SlotRanker ranker = new SlotRanker(Collections.emptyList());
+
+    Assert.assertEquals(Arrays.asList(), ranker.topK(SLOTS, 600, 3));
+    Assert.assertEquals(Arrays.asList(), ranker.topK(SLOTS, 30, 0));
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class SweepLineMergerTest {
+  @Test
+  public void mergesOverlappingNestedAndTouchingRanges() {
+    // Ranges : |--A--|
+    //             |-B-|
+    //           |-C-|
+    //                 |--D--|      |-E-|
+    List<TimeRange> ranges = new ArrayList<>(Arrays.asList(
+        TimeRange.fromStartDuration(500, 30),
+        TimeRange.fromStartDuration(100, 60),
+        TimeRange.fromStartDuration(130, 40),
+        TimeRange.fromStartDuration(100, 20),
+        TimeRange.fromStartDuration(170, 60)));
+
+    List<TimeRange> actual = SweepLineMerger.sortAndMerge(ranges);
+    List<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(100, 230, false), TimeRange.fromStartDuration(500, 30));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void emptyRangesAreIgnored() {
+    List<TimeRange> ranges = new ArrayList<>(Arrays.asList(TimeRange.fromStartDuration(100, 0)));
+
+    Assert.assertEquals(Arrays.asList(), SweepLineMerger.sortAndMerge(ranges));
+  }
+
+  @Test
+  public void vacantSlotsRespectMinimumDuration() {
+    List<TimeRange> merged = Arrays.asList(
+        TimeRange.fromStartDuration(0, 100), TimeRange.fromStartDuration(120, 100));
+
+    List<TimeRange> actual = SweepLineMerger.vacantSlots(merged, 30);
+    List<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(220, 24 * 60, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void manyChainedRangesCollapseToOne() {
+    List<TimeRange> ranges = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      ranges.add(TimeRange.fromStartDuration(i % 1000, 5));
+    }
+
+    List<TimeRange> actual = SweepLineMerger.sortAndMerge(ranges);
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(0, 1004)), actual);
+  }
+}
@@ -0,0 +1,78 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class TimeRangeColumnsTest {
+  @Test
+  public void packsAndUnpacksRanges() {
+    TimeRangeColumns columns = new TimeRangeColumns(1);
+    columns.add(TimeRange.fromStartDuration(600, 30));
+    columns.add(0, 1440);
+
+    Assert.assertEquals(2, columns.size());
+    Assert.assertEquals(600, columns.start(0));
+    Assert.assertEquals(630, columns.end(0));
+    Assert.assertEquals(30, columns.duration(0));
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartDuration(600, 30), TimeRange.WHOLE_DAY),
+        columns.asList());
+  }
+
+  @Test
+  public void sortAndMergeMatchesSweepLine() {
+    Random random = new Random(3);
+    List<TimeRange> ranges = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ranges.add(TimeRange.fromStartDuration(random.nextInt(1440), random.nextInt(10)));
+    }
+
+    TimeRangeColumns columns = TimeRangeColumns.fromRanges(ranges);
+    columns.sort();
+    columns.mergeSorted();
+
+    Assert.assertEquals(SweepLineMerger.sortAndMerge(ranges), columns.asList());
+  }
+
+  @Test
+  public void columnarEngineMatchesSweepLine() {
+    EventIndex index = new EventIndex(Arrays.asList(Events.events));
+    FindMeetingQuery query = new FindMeetingQuery();
+    AvailabilityEngine sweepLine = new SweepLineEngine();
+    AvailabilityEngine columnar = new ColumnarEngine();
+
+    for (String first : index.getAttendees()) {
+      for (String second : index.getAttendees()) {
+        MeetingRequest request = new MeetingRequest(Arrays.asList(first, second), 30);
+        Assert.assertEquals(
+            query.query(index, request, sweepLine), query.query(index, request, columnar));
+      }
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void readingPastTheEndFails() {
+    new TimeRangeColumns().start(0);
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class VacantSlotIteratorTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final EventIndex INDEX = EventIndex.of(
+      new Event("Event 1", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A)),
+      new Event("Event 2", TimeRange.fromStartDuration(510, 60), Arrays.asList(PERSON_B)),
+      new Event("Event 3", TimeRange.fromStartDuration(600, 0), Arrays.asList(PERSON_B)),
+      new Event("Event 4", TimeRange.fromStartDuration(700, 30), Arrays.asList(PERSON_A)));
+
+  private static final MeetingRequest REQUEST =
+      new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 30);
+
+  @Test
+  public void producesSameSlotsAsFullQuery() {
+    FindMeetingQuery query = new FindMeetingQuery();
+    List<TimeRange> lazy = new ArrayList<>();
+    Iterator<TimeRange> iterator = query.vacantSlots(INDEX, REQUEST, 0);
+    while (iterator.hasNext()) {
+      lazy.add(iterator.next());
+    }
+
+    Assert.assertEquals(new ArrayList<>(query.query(INDEX, REQUEST)), lazy);
+  }
+
+  @Test
+  public void limitAndAfter() {
+    FindMeetingQuery query = new FindMeetingQuery();
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(0, 480, false)),
+        query.query(INDEX, REQUEST, 0, 1));
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(570, 700, false),
+        TimeRange.fromStartEnd(730, TimeRange.END_OF_DAY, true)),
+        query.query(INDEX, REQUEST, 500, 5));
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(680, 700, false)),
+        query.query(INDEX, new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), 15), 680, 1));
+    Assert.assertEquals(Arrays.asList(), query.query(INDEX, REQUEST, 1430, 5));
+  }
+
+  @Test
+  public void stopsWithoutReadingTheRestOfTheDay() {
+    // Every range after the first slot throws when read, so the iterator must not look at it.
+    List<TimeRange> busy = new ArrayList<TimeRange>(Arrays.asList(
+        TimeRange.fromStartDuration(60, 60), TimeRange.fromStartDuration(300, 60))) {
+      @Override
+      public TimeRange get(int index) {
+        if (index > 1) {
+          throw new AssertionError("read too far");
+        }
+        return super.get(index);
+      }
+
+      @Override
+      public int size() {
+        return 1000;
+      }
+    };
+    Iterator<TimeRange> iterator = new VacantSlotIterator(Arrays.asList(busy), 30, 0);
+
+    Assert.assertEquals(TimeRange.fromStartDuration(0, 60), iterator.next());
+    Assert.assertEquals(TimeRange.fromStartEnd(120, 300, false), iterator.next());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void exhaustedIteratorThrows() {
+    Iterator<TimeRange> iterator = new VacantSlotIterator(
+        Arrays.asList(Arrays.asList(TimeRange.WHOLE_DAY)), 30, 0);
+
+    iterator.next();
+  }
+
+  @Test
+  public void firstSlotsTrimsExistingAnswers() {
+    Collection<TimeRange> slots = Arrays.asList(
+        TimeRange.fromStartEnd(0, 480, false), TimeRange.fromStartEnd(570, 700, false));
+
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(570, 700, false)),
+        FindMeetingQuery.firstSlots(slots, 30, 460, 5));
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(400, 480, false)),
+        FindMeetingQuery.firstSlots(slots, 30, 400, 1));
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.CalendarJson;
+import com.google.sps.Events;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class PreparedJsonTest {
+  @Test
+  public void bothEncodingsHoldTheSameJson() throws IOException {
+    PreparedJson payload = PreparedJson.render(Events.events, 7);
+
+    String identity = new String(payload.getIdentity(), StandardCharsets.UTF_8);
+    Assert.assertEquals(CalendarJson.GSON.toJson(Events.events) + "\n", identity);
+
+    ByteArrayOutputStream unzipped = new ByteArrayOutputStream();
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.getGzip()))) {
+      byte[] buffer = new byte[4096];
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        unzipped.write(buffer, 0, read);
+      }
+    }
+    Assert.assertArrayEquals(payload.getIdentity(), unzipped.toByteArray());
+  }
+
+  @Test
+  public void ifNoneMatchComparesVersions() throws IOException {
+    PreparedJson payload = PreparedJson.render(Events.events, 7);
+
+    String epoch = PreparedJson.EPOCH;
+
+    Assert.assertTrue(payload.matches("\"" + epoch + "-v7\""));
+    Assert.assertTrue(payload.matches("\"" + epoch + "-v3\", W/\"" + epoch + "-v7-gzip\""));
+    Assert.assertTrue(payload.matches("*"));
+    Assert.assertFalse(payload.matches("\"" + epoch + "-v8\""));
+    Assert.assertFalse(payload.matches(null));
+  }
+
+  @Test
+  public void tagsFromAnotherProcessDoNotMatch() throws IOException {
+    PreparedJson payload = PreparedJson.render(Events.events, 7);
+
+    // The same version from a process with another epoch, or from before epochs were added.
+    Assert.assertFalse(payload.matches("\"0" + PreparedJson.EPOCH + "-v7\""));
+    Assert.assertFalse(payload.matches("\"v7\""));
+    Assert.assertFalse(payload.matches("W/\"v7-gzip\""));
+  }
+
+  @Test
+  public void acceptEncoding() {
+    Assert.assertTrue(PreparedJson.acceptsGzip("gzip, deflate, br"));
+    Assert.assertTrue(PreparedJson.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    Assert.assertTrue(PreparedJson.acceptsGzip("*"));
+    Assert.assertFalse(PreparedJson.acceptsGzip("gzip;q=0"));
+    Assert.assertFalse(PreparedJson.acceptsGzip("identity"));
+    Assert.assertFalse(PreparedJson.acceptsGzip(null));
+  }
+}